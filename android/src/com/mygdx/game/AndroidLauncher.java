@@ -2,6 +2,8 @@ package com.mygdx.game;
 
 import android.os.Bundle;
 import game.CanyonBunnyMain;
+import util.JobSystem;
+import util.WorkStealingWorkers;
 
 import com.badlogic.gdx.backends.android.AndroidApplication;
 import com.badlogic.gdx.backends.android.AndroidApplicationConfiguration;
@@ -10,6 +12,7 @@ public class AndroidLauncher extends AndroidApplication {
 	@Override
 	protected void onCreate (Bundle savedInstanceState) {
 		super.onCreate(savedInstanceState);
+		JobSystem.instance.setWorkers(new WorkStealingWorkers());
 		AndroidApplicationConfiguration config = new AndroidApplicationConfiguration();
 		initialize(new CanyonBunnyMain(), config);
 	}
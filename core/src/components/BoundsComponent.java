@@ -0,0 +1,20 @@
+package components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Pool.Poolable;
+
+/** Bounding box for collision detection, relative to the position. */
+public class BoundsComponent implements Component, Poolable {
+	public final Rectangle bounds = new Rectangle();
+
+	public BoundsComponent set (float width, float height) {
+		bounds.set(0, 0, width, height);
+		return this;
+	}
+
+	@Override
+	public void reset () {
+		bounds.set(0, 0, 0, 0);
+	}
+}
@@ -0,0 +1,34 @@
+package components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool.Poolable;
+
+/** Items the player picks up by touching them, their entity is removed when they are collected. */
+public class CollectibleComponent implements Component, Poolable {
+	public enum Kind {
+		GOLD_COIN, FEATHER
+	}
+
+	public Kind kind;
+	public int score;
+	// record of the item in the chunk store, to mark it collected there
+	public int record;
+	// chunk of the item and its place among the items of the chunk
+	public int chunk;
+	public int slot;
+
+	public CollectibleComponent set (Kind kind, int score) {
+		this.kind = kind;
+		this.score = score;
+		return this;
+	}
+
+	@Override
+	public void reset () {
+		kind = null;
+		score = 0;
+		record = 0;
+		chunk = 0;
+		slot = 0;
+	}
+}
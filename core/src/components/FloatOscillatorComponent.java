@@ -0,0 +1,29 @@
+package components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool.Poolable;
+
+/**
+ * Objects that float down and back up on their own, as a function of the
+ * level clock. Their place in the collision world has to follow them.
+ */
+public class FloatOscillatorComponent implements Component, Poolable {
+	// the object floats down from here
+	public float topY;
+	// point of the cycle at time 0 of the level clock, in [0, 1)
+	public float phase;
+	// time to float down and back up
+	public float period;
+	public float amplitude;
+	// true while the object is away from the visible area and not posed
+	public boolean asleep;
+
+	@Override
+	public void reset () {
+		topY = 0;
+		phase = 0;
+		period = 0;
+		amplitude = 0;
+		asleep = false;
+	}
+}
@@ -0,0 +1,22 @@
+package components;
+
+import com.badlogic.ashley.core.Component;
+
+/**
+ * Tags for the layers the sprites are drawn in, back to front. Each layer
+ * is a family of the {@link systems.RenderSystem}, so a layer is drawn
+ * without looking at the sprites of the others.
+ */
+public final class Layer {
+	public static class Rocks implements Component {
+	}
+
+	public static class GoldCoins implements Component {
+	}
+
+	public static class Feathers implements Component {
+	}
+
+	private Layer () {
+	}
+}
@@ -0,0 +1,23 @@
+package components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Pool.Poolable;
+
+public class PositionComponent implements Component, Poolable {
+	public final Vector2 position = new Vector2();
+	// position before the last step, for interpolated rendering
+	public final Vector2 lastPosition = new Vector2();
+
+	/** Moves the object without interpolating from where it was. */
+	public PositionComponent set (float x, float y) {
+		position.set(x, y);
+		lastPosition.set(x, y);
+		return this;
+	}
+
+	@Override
+	public void reset () {
+		set(0, 0);
+	}
+}
@@ -0,0 +1,24 @@
+package components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool.Poolable;
+
+/**
+ * Sprites that shrink and grow back to the scale of their type, as a
+ * function of the level clock.
+ */
+public class PulseComponent implements Component, Poolable {
+	// point of the pulse at time 0 of the level clock, any phase works
+	public float phase;
+	// time to shrink and grow back
+	public float period;
+	// how much the scale shrinks
+	public float depth;
+
+	@Override
+	public void reset () {
+		phase = 0;
+		period = 0;
+		depth = 0;
+	}
+}
@@ -0,0 +1,7 @@
+package components;
+
+import com.badlogic.ashley.core.Component;
+
+/** Marks objects the bunny cannot pass through. */
+public class SolidComponent implements Component {
+}
@@ -0,0 +1,49 @@
+package components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Pool.Poolable;
+
+import objects.GameObjectType;
+
+public class SpriteComponent implements Component, Poolable {
+	/** Draws the sprites of one kind of object. */
+	public interface Drawer {
+		/** @param x position to draw the sprite at, between the last two steps if it is interpolated */
+		void draw (SpriteBatch batch, float x, float y, SpriteComponent sprite);
+	}
+
+	public Drawer drawer;
+	public GameObjectType type;
+	// whether the object moves and is drawn between the last two steps
+	public boolean interpolated;
+	// starts as the scale of the type, animations change it
+	public final Vector2 scale = new Vector2();
+	// parts drawn in a row, rocks have this many middle parts
+	public int length;
+	// where the sprite is drawn this frame and whether it is in view, set by the culling
+	public float drawX, drawY;
+	public boolean visible;
+
+	public SpriteComponent set (Drawer drawer, GameObjectType type, boolean interpolated) {
+		this.drawer = drawer;
+		this.type = type;
+		this.interpolated = interpolated;
+		scale.set(type.scale);
+		length = 1;
+		return this;
+	}
+
+	@Override
+	public void reset () {
+		drawer = null;
+		type = null;
+		interpolated = false;
+		scale.set(0, 0);
+		length = 0;
+		drawX = 0;
+		drawY = 0;
+		visible = false;
+	}
+}
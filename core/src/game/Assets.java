@@ -4,13 +4,16 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.assets.AssetErrorListener;
 import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.ParticleEffectLoader.ParticleEffectParameter;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.Texture.TextureFilter;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
 
 import util.Constants;
@@ -21,6 +24,8 @@ public class Assets implements Disposable, AssetErrorListener {
 	public static final Assets instance = new Assets();
 
 	private AssetManager assetManager;
+	// regions handed out to game objects, updated in place when the atlas is reloaded
+	private Array<AtlasRegion> objectRegions;
 
 	public AssetFonts fonts;
 	public AssetBunny bunny;
@@ -30,6 +35,7 @@ public class Assets implements Disposable, AssetErrorListener {
 	public AssetLevelDecoration levelDecoration;
 	public AssetSounds sounds;
 	public AssetMusic music;
+	public AssetParticles particles;
 
 	
 
@@ -50,6 +56,8 @@ public class Assets implements Disposable, AssetErrorListener {
 		assetManager.load("sounds/live_lost.wav", Sound.class);
 		// load music
 		assetManager.load("music/keith303_-_brand_new_highscore.mp3", Music.class);
+		// load particle effects
+		loadParticleEffect("particles/dust.pfx");
 		// wait until finished, blocking method
 		assetManager.finishLoading();
 
@@ -59,11 +67,10 @@ public class Assets implements Disposable, AssetErrorListener {
 		}
 
 		TextureAtlas atlas = assetManager.get(Constants.TEXTURE_ATLAS_OBJECTS, TextureAtlas.class);
+		objectRegions = new Array<AtlasRegion>(atlas.getRegions());
 
 		// enable texture filtering for pixel smoothing
-		for (Texture t : atlas.getTextures()) {
-			t.setFilter(TextureFilter.Linear, TextureFilter.Linear);
-		}
+		setFilter(atlas);
 
 		// create game resource objects
 		fonts = new AssetFonts();
@@ -74,6 +81,62 @@ public class Assets implements Disposable, AssetErrorListener {
 		levelDecoration = new AssetLevelDecoration(atlas);
 		sounds = new AssetSounds(assetManager);
 		music = new AssetMusic(assetManager);
+		particles = new AssetParticles(assetManager);
+	}
+
+	private void loadParticleEffect (String fileName) {
+		ParticleEffectParameter particleParams = new ParticleEffectParameter();
+		particleParams.imagesDir = Gdx.files.internal("particles");
+		assetManager.load(fileName, ParticleEffect.class, particleParams);
+	}
+	
+	private static void setFilter (TextureAtlas atlas) {
+		for (Texture t : atlas.getTextures()) {
+			t.setFilter(TextureFilter.Linear, TextureFilter.Linear);
+		}
+	}
+	
+	/**
+	 * Reloads the atlas of the game objects and points the regions already
+	 * in use to the new textures, so game objects pick up the change without
+	 * being recreated. Other atlases are loaded by the screens themselves.
+	 */
+	public void reloadAtlas (String fileName) {
+		if (!fileName.equals(Constants.TEXTURE_ATLAS_OBJECTS)) return;
+		assetManager.unload(fileName);
+		assetManager.load(fileName, TextureAtlas.class);
+		assetManager.finishLoading();
+		TextureAtlas atlas = assetManager.get(fileName, TextureAtlas.class);
+		setFilter(atlas);
+		for (AtlasRegion region : objectRegions) {
+			AtlasRegion source = atlas.findRegion(region.name, region.index);
+			if (source == null) {
+				Gdx.app.error(TAG, "Region '" + region.name + "' is missing in reloaded atlas '" + fileName + "'");
+				continue;
+			}
+			region.setRegion(source);
+			region.offsetX = source.offsetX;
+			region.offsetY = source.offsetY;
+			region.packedWidth = source.packedWidth;
+			region.packedHeight = source.packedHeight;
+			region.originalWidth = source.originalWidth;
+			region.originalHeight = source.originalHeight;
+			region.rotate = source.rotate;
+		}
+		Gdx.app.debug(TAG, "atlas '" + fileName + "' reloaded");
+	}
+	
+	/**
+	 * Reloads a particle effect prototype. Game objects hold copies, they
+	 * have to copy the new prototype.
+	 */
+	public void reloadParticleEffect (String fileName) {
+		if (!assetManager.isLoaded(fileName, ParticleEffect.class)) return;
+		assetManager.unload(fileName);
+		loadParticleEffect(fileName);
+		assetManager.finishLoading();
+		particles = new AssetParticles(assetManager);
+		Gdx.app.debug(TAG, "particle effect '" + fileName + "' reloaded");
 	}
 
 	public void error(String filename, Class type, Throwable throwable) {
@@ -187,6 +250,15 @@ public class Assets implements Disposable, AssetErrorListener {
 		}
 	}
 	
+	public class AssetParticles {
+		// prototypes, game objects use copies that share the textures
+		public final ParticleEffect dust;
+		
+		public AssetParticles (AssetManager am) {
+			dust = am.get("particles/dust.pfx", ParticleEffect.class);
+		}
+	}
+	
 	public class AssetMusic {
 		public final Music song01;
 		
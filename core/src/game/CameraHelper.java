@@ -14,22 +14,36 @@ public class CameraHelper {
 	private final float FOLLOW_SPEED = 4.0f;
 	
 	private Vector2 position;
+	// position before the last update, for interpolated rendering
+	private Vector2 lastPosition;
+	// where the camera moves to
+	private Vector2 targetPosition;
 	private float zoom;
 	
 	private AbstractGameObject target;
 
 	public CameraHelper () {
 		position = new Vector2();
+		lastPosition = new Vector2();
+		targetPosition = new Vector2();
+		reset();
+	}
+	
+	/** Back to the state of a new camera, without a target. */
+	public void reset () {
+		position.set(0, 0);
+		lastPosition.set(0, 0);
+		targetPosition.set(0, 0);
 		zoom = 1.0f;
+		target = null;
 	}
 	
 	public void update (float deltaTime) {
+		lastPosition.set(position);
 		if (!hasTarget()) return;
 				
-		position.lerp(
-				new Vector2(target.position.x + target.origin.x, target.position.y + target.origin.y),
-				FOLLOW_SPEED * deltaTime
-				);
+		targetPosition.set(target.position.x + target.type.origin.x, target.position.y + target.type.origin.y);
+		position.lerp(targetPosition, FOLLOW_SPEED * deltaTime);
 
 		// Prevent camera from moving down too far
 		position.y = Math.max(-1f, position.y);
@@ -37,6 +51,7 @@ public class CameraHelper {
 	
 	public void setPosition (float x, float y) {
 		this.position.set(x, y);
+		this.lastPosition.set(x, y);
 	}
 	
 	public Vector2 getPosition () {
@@ -72,8 +87,13 @@ public class CameraHelper {
 	}
 	
 	public void applyTo (OrthographicCamera camera) {
-		camera.position.x = position.x;
-		camera.position.y = position.y;
+		applyTo(camera, 1);
+	}
+	
+	/** @param alpha how far to interpolate from the position before the last update to the current one */
+	public void applyTo (OrthographicCamera camera, float alpha) {
+		camera.position.x = lastPosition.x + (position.x - lastPosition.x) * alpha;
+		camera.position.y = lastPosition.y + (position.y - lastPosition.y) * alpha;
 		camera.zoom = zoom;
 		camera.update();
 	}
@@ -6,6 +6,7 @@ import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.math.Interpolation;
 
 import screens.DirectedGame;
+import screens.GameScreen;
 import screens.MenuScreen;
 import screens.transitions.ScreenTransition;
 import screens.transitions.ScreenTransitionSlice;
@@ -23,6 +24,11 @@ public class CanyonBunnyMain extends DirectedGame {
 		// Load preferences for audio settings and start playing music
 		GamePreferences.instance.load();
 		AudioManager.instance.play(Assets.instance.music.song01);
+		// Start with the recorded game if there is one to replay
+		if (InputRecording.replayFile != null) {
+			setScreen(new GameScreen(this, InputRecording.read(InputRecording.replayFile)));
+			return;
+		}
 		// Start game at menu screen
 		ScreenTransition transition = ScreenTransitionSlice.init(2, ScreenTransitionSlice.UP_DOWN, 10, Interpolation.pow5Out);
 		setScreen(new MenuScreen(this), transition);
@@ -0,0 +1,51 @@
+package game;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Ring buffer of the pickups found by the collision tests. The events are
+ * allocated once and reused, the world drains the queue once per step and
+ * handles all pickups of the same kind together.
+ */
+public class CollisionEventQueue {
+	public static class Event {
+		// the item that was picked up, its kind is in its CollectibleComponent
+		public Entity item;
+	}
+
+	private final Event[] events;
+	// index of the oldest event
+	private int head;
+	private int size;
+
+	public CollisionEventQueue (int capacity) {
+		events = new Event[capacity];
+		for (int i = 0; i < capacity; i++)
+			events[i] = new Event();
+	}
+
+	public void add (Entity item) {
+		if (isFull()) throw new GdxRuntimeException("Collision event queue is full: " + events.length);
+		Event event = events[(head + size) % events.length];
+		event.item = item;
+		size++;
+	}
+
+	/** @return the oldest event, valid until the next {@link #add}, or null if the queue is empty */
+	public Event poll () {
+		if (size == 0) return null;
+		Event event = events[head];
+		head = (head + 1) % events.length;
+		size--;
+		return event;
+	}
+
+	public boolean isFull () {
+		return size == events.length;
+	}
+
+	public int size () {
+		return size;
+	}
+}
@@ -0,0 +1,153 @@
+package game;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.StreamUtils;
+
+/**
+ * The input of one game, one {@link InputState} per simulation step, with
+ * the random seed and the level it started with. Replaying it gives the
+ * same game, step for step; the hash of the state after the last step is
+ * stored to check that.
+ * <p>
+ * Input rarely changes from one step to the next, so steps are stored as
+ * runs of the same input. A file is the header followed by the runs, each
+ * the step count and buttons as variable length ints and the tilt byte.
+ */
+public class InputRecording {
+	public static final String TAG = InputRecording.class.getName();
+
+	private static final int MAGIC = 0x43424952; // "CBIR"
+	private static final int VERSION = 1;
+
+	// set by the launcher: every game is recorded into this file
+	public static FileHandle recordFile;
+	// set by the launcher: the game starts by replaying the recording in this file
+	public static FileHandle replayFile;
+
+	public final long seed;
+	public final int levelIndex;
+	// state after the last step, see WorldController.getStateHash()
+	public long stateHash;
+
+	// runs as (steps, buttons, tilt)
+	private final IntArray runs = new IntArray();
+	private int steps;
+	// replay position
+	private int run;
+	private int stepInRun;
+
+	public InputRecording (long seed, int levelIndex) {
+		this.seed = seed;
+		this.levelIndex = levelIndex;
+	}
+
+	/** @return the number of recorded steps */
+	public int getSteps () {
+		return steps;
+	}
+
+	/** Appends the input of the next step. */
+	public void add (InputState state) {
+		int n = runs.size;
+		if (n > 0 && runs.get(n - 2) == state.buttons && runs.get(n - 1) == state.tilt) {
+			runs.incr(n - 3, 1);
+		} else {
+			runs.add(1);
+			runs.add(state.buttons);
+			runs.add(state.tilt);
+		}
+		steps++;
+	}
+
+	/**
+	 * Reads the input of the next step of the replay.
+	 * @return false when all steps have been replayed
+	 */
+	public boolean next (InputState state) {
+		if (run >= runs.size) return false;
+		state.buttons = runs.get(run + 1);
+		state.tilt = (byte)runs.get(run + 2);
+		if (++stepInRun == runs.get(run)) {
+			run += 3;
+			stepInRun = 0;
+		}
+		return true;
+	}
+
+	/** Starts the replay from the first step again. */
+	public void rewind () {
+		run = 0;
+		stepInRun = 0;
+	}
+
+	public void write (FileHandle file) {
+		DataOutputStream out = new DataOutputStream(file.write(false, 8192));
+		try {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(seed);
+			out.writeInt(levelIndex);
+			out.writeLong(stateHash);
+			out.writeInt(steps);
+			out.writeInt(runs.size / 3);
+			for (int i = 0; i < runs.size; i += 3) {
+				writeVarInt(out, runs.get(i));
+				writeVarInt(out, runs.get(i + 1));
+				out.writeByte(runs.get(i + 2));
+			}
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Couldn't write input recording: " + file, e);
+		} finally {
+			StreamUtils.closeQuietly(out);
+		}
+	}
+
+	public static InputRecording read (FileHandle file) {
+		DataInputStream in = new DataInputStream(file.read(8192));
+		try {
+			if (in.readInt() != MAGIC) throw new GdxRuntimeException("Not an input recording: " + file);
+			int version = in.readInt();
+			if (version != VERSION) throw new GdxRuntimeException("Unsupported input recording version " + version + ": " + file);
+			InputRecording recording = new InputRecording(in.readLong(), in.readInt());
+			recording.stateHash = in.readLong();
+			int steps = in.readInt();
+			int runCount = in.readInt();
+			recording.runs.ensureCapacity(runCount * 3);
+			for (int i = 0; i < runCount; i++) {
+				recording.runs.add(readVarInt(in));
+				recording.runs.add(readVarInt(in));
+				recording.runs.add(in.readByte());
+			}
+			recording.steps = steps;
+			return recording;
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Couldn't read input recording: " + file, e);
+		} finally {
+			StreamUtils.closeQuietly(in);
+		}
+	}
+
+	private static void writeVarInt (DataOutputStream out, int value) throws IOException {
+		while ((value & ~0x7f) != 0) {
+			out.writeByte(value & 0x7f | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static int readVarInt (DataInputStream in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7f) << shift;
+			if ((b & 0x80) == 0) return value;
+		}
+		throw new IOException("Malformed variable length int");
+	}
+}
@@ -0,0 +1,59 @@
+package game;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * Input of the player for one simulation step. Everything the game reacts
+ * to goes through here instead of being read from the input devices, so a
+ * game can be recorded and replayed exactly.
+ */
+public class InputState {
+	// player controls, the arrows also move the camera while it does not follow the player
+	public static final int LEFT = 1;
+	public static final int RIGHT = 1 << 1;
+	public static final int UP = 1 << 2;
+	public static final int DOWN = 1 << 3;
+	public static final int JUMP = 1 << 4;
+	// move forward without a key, on devices without keyboard and accelerometer
+	public static final int FORWARD = 1 << 5;
+	// tilt holds the accelerometer
+	public static final int TILT = 1 << 6;
+	// debug controls
+	public static final int FAST = 1 << 7;
+	public static final int ZOOM_IN = 1 << 8;
+	public static final int ZOOM_OUT = 1 << 9;
+	public static final int ZOOM_RESET = 1 << 10;
+	public static final int CAMERA_RESET = 1 << 11;
+	// released keys, only set for one step
+	public static final int RESET = 1 << 12;
+	public static final int TOGGLE_FOLLOW = 1 << 13;
+
+	// buttons held in this step
+	public int buttons;
+	// accelerometer in steps of 1/127 of the full range, so it is recorded exactly
+	public byte tilt;
+
+	public boolean isPressed (int button) {
+		return (buttons & button) != 0;
+	}
+
+	/** @return the accelerometer in [-1, 1] */
+	public float getTilt () {
+		return tilt / 127.0f;
+	}
+
+	/** @param tilt the accelerometer in [-1, 1] */
+	public void setTilt (float tilt) {
+		this.tilt = (byte)Math.round(MathUtils.clamp(tilt, -1, 1) * 127);
+	}
+
+	public void set (InputState state) {
+		buttons = state.buttons;
+		tilt = state.tilt;
+	}
+
+	public void clear () {
+		buttons = 0;
+		tilt = 0;
+	}
+}
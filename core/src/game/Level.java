@@ -1,11 +1,27 @@
 package game;
 
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.core.PooledEngine;
+import com.badlogic.ashley.utils.ImmutableArray;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.Pool.Poolable;
+import com.badlogic.gdx.utils.TimeUtils;
 
-import objects.AbstractGameObject;
+import components.CollectibleComponent;
+import components.PositionComponent;
+import components.SolidComponent;
 import objects.BunnyHead;
 import objects.Carrot;
 import objects.Clouds;
@@ -15,8 +31,18 @@ import objects.GoldCoin;
 import objects.Mountains;
 import objects.Rock;
 import objects.WaterOverlay;
+import physics.ArcadePhysics;
+import physics.Box2DPhysics;
+import physics.PhysicsBackend;
+import systems.AnimationSystem;
+import systems.CollisionSystem;
+import systems.MotionSystem;
+import systems.RenderSystem;
+import util.Constants;
+import util.JobSystem;
+import util.RandomStreams;
 
-public class Level {
+public class Level implements Disposable {
 	public static final String TAG = Level.class.getName();
 	
 	public enum BLOCK_TYPE {
@@ -43,13 +69,52 @@ public class Level {
 		}
 	}
 
+	// objects within this distance of the camera are kept alive
+	private static final float ACTIVE_RADIUS = 2 * LevelChunkStore.CHUNK_WIDTH;
+	// objects within this distance of the visible area are updated
+	private static final float SIMULATION_MARGIN = 2;
+	// gold coins one column apart pulse this much of a period after each other
+	private static final float GOLD_COIN_PULSE_SPREAD = 0.1f;
+	
+	/** Creates the entity of an item of a level, see {@link Level#registerItem(String, ItemFactory)}. */
+	public interface ItemFactory {
+		/** @param baseHeight rows of the level image from the bottom to the item */
+		Entity create (PooledEngine engine, float x, float baseHeight);
+	}
+	
+	// factories of the item types of the palette, by type name
+	private static final ObjectMap<String, ItemFactory> itemFactories = new ObjectMap<String, ItemFactory>();
+	
+	static {
+		registerItem(LevelData.FEATHER, new ItemFactory() {
+			@Override
+			public Entity create (PooledEngine engine, float x, float baseHeight) {
+				float offsetHeight = -1.5f;
+				return Feather.create(engine, x, baseHeight * Feather.TYPE.dimension.y + offsetHeight);
+			}
+		});
+		registerItem(LevelData.GOLD_COIN, new ItemFactory() {
+			@Override
+			public Entity create (PooledEngine engine, float x, float baseHeight) {
+				float offsetHeight = -1.5f;
+				return GoldCoin.create(engine, x, baseHeight * GoldCoin.TYPE.dimension.y + offsetHeight,
+					x * GOLD_COIN_PULSE_SPREAD);
+			}
+		});
+	}
+	
+	/**
+	 * Lets levels have items of the palette type, see
+	 * {@link LevelPalette#registerItem(String)}. The entity needs a
+	 * {@link CollectibleComponent}, the level sets its record.
+	 */
+	public static void registerItem (String type, ItemFactory factory) {
+		itemFactories.put(type, factory);
+	}
+	
 	// player character
 	public BunnyHead bunnyHead;
 
-	// objects
-	public Array<Rock> rocks;
-	public Array<GoldCoin> goldcoins;
-	public Array<Feather> feathers;
 	public Array<Carrot> carrots;
 	public Goal goal;
 	
@@ -58,130 +123,383 @@ public class Level {
 	public Mountains mountains;
 	public WaterOverlay waterOverlay;
 	
-	public Level (String filename) {
-		init(filename);
+	// all objects of the level, only the chunks around the camera are turned into game objects
+	private LevelChunkStore chunkStore;
+	private int width;
+	private int height;
+	private final Vector2 spawnPosition = new Vector2();
+	private Array<LevelChunk> activeChunks;
+	private int windowLeft = Integer.MIN_VALUE;
+	private int windowRight = Integer.MIN_VALUE;
+	
+	/** Physics of the levels created with {@link #Level(String)}, set by the launchers. */
+	public static PhysicsBackend.Type physicsType = PhysicsBackend.Type.ARCADE;
+	
+	// collisions of the bunny with the objects of the active chunks, collected items are left out
+	public final PhysicsBackend physics;
+	
+	// rocks and items of the active chunks are entities, the systems update and draw them
+	// the pools keep every freed entity and component, so streaming chunks does not allocate
+	private final PooledEngine engine = new PooledEngine(64, Integer.MAX_VALUE, 64, Integer.MAX_VALUE);
+	private final MotionSystem motionSystem = new MotionSystem(0);
+	private final AnimationSystem animationSystem = new AnimationSystem(0);
+	private final CollisionSystem collisionSystem;
+	private final RenderSystem renderSystem = new RenderSystem();
+	private float cloudsDeltaTime;
+	private final JobSystem.RangeJob updateClouds = new JobSystem.RangeJob() {
+		@Override
+		public void run (int start, int end) {
+			clouds.update(cloudsDeltaTime);
+		}
+	};
+	private final ImmutableArray<Entity> rocks = engine.getEntitiesFor(Family.all(SolidComponent.class, PositionComponent.class)
+		.get());
+	private final ImmutableArray<Entity> items = engine.getEntitiesFor(Family.all(CollectibleComponent.class).get());
+	private final ComponentMapper<CollectibleComponent> collectibles = ComponentMapper.getFor(CollectibleComponent.class);
+	
+	// chunks of evicted chunks are reused
+	private final Pool<LevelChunk> chunkPool = new Pool<LevelChunk>() {
+		@Override
+		protected LevelChunk newObject () {
+			return new LevelChunk(maxChunkRocks, maxChunkItems);
+		}
+	};
+	// objects of the fullest chunk, pooled chunks hold any chunk without growing
+	private int maxChunkRocks;
+	private int maxChunkItems;
+	// active chunks by chunk index, null for the others
+	private LevelChunk[] chunksByIndex;
+	// factory of each item type of the chunk store
+	private ItemFactory[] chunkItemFactories;
+	
+	private static class LevelChunk implements Poolable {
+		int index;
+		final Array<Entity> rocks;
+		// items not collected yet, unordered so a collected one is swapped out
+		final Array<Entity> items;
+		
+		LevelChunk (int rockCapacity, int itemCapacity) {
+			rocks = new Array<Entity>(rockCapacity);
+			items = new Array<Entity>(false, Math.max(1, itemCapacity));
+		}
+		
+		@Override
+		public void reset () {
+			rocks.clear();
+			items.clear();
+		}
 	}
 	
-	private void init (String filename) {
+	/** @param random the random numbers of the game the level is played in */
+	public Level (String filename, RandomStreams random) {
+		this(filename, load(filename), createPhysics(physicsType), random);
+	}
+	
+	/** Creates a level of the given data, the level disposes the physics with itself. */
+	public Level (String name, LevelData data, PhysicsBackend physics, RandomStreams random) {
+		this.physics = physics;
+		collisionSystem = new CollisionSystem(physics, 1);
+		engine.addSystem(motionSystem);
+		engine.addSystem(animationSystem);
+		engine.addSystem(collisionSystem);
+		engine.addSystem(renderSystem);
+		init(name, data, random);
+	}
+	
+	public static PhysicsBackend createPhysics (PhysicsBackend.Type type) {
+		switch (type) {
+		case BOX2D:
+			return new Box2DPhysics();
+		default:
+			return new ArcadePhysics();
+		}
+	}
+	
+	private void init (String name, LevelData data, RandomStreams random) {
+		long start = TimeUtils.nanoTime();
+		width = data.width;
+		height = data.height;
+		chunkStore = new LevelChunkStore(data, random.create(RandomStreams.LEVEL));
+		chunkItemFactories = new ItemFactory[chunkStore.getItemTypeCount()];
+		for (int type = 0; type < chunkItemFactories.length; type++) {
+			String itemType = chunkStore.getItemType(type);
+			chunkItemFactories[type] = itemFactories.get(itemType);
+			if (chunkItemFactories[type] == null && data.getItems(itemType).size > 0)
+				throw new GdxRuntimeException("No factory for the items of level object type: " + itemType);
+		}
+		for (int i = 0; i < chunkStore.getChunkCount(); i++) {
+			maxChunkRocks = Math.max(maxChunkRocks, chunkStore.getRockCount(i));
+			int items = 0;
+			for (int type = 0; type < chunkItemFactories.length; type++)
+				items += chunkStore.getItemCount(i, type);
+			maxChunkItems = Math.max(maxChunkItems, items);
+		}
+		chunksByIndex = new LevelChunk[chunkStore.getChunkCount()];
+		
 		// player character
 		bunnyHead = null;
+		if (data.spawnX >= 0) {
+			bunnyHead = new BunnyHead();
+			float offsetHeight = -2.5f;
+			float baseHeight = height - data.spawnY;
+			spawnPosition.set(data.spawnX, baseHeight * bunnyHead.type.dimension.y + offsetHeight);
+			bunnyHead.setPosition(spawnPosition.x, spawnPosition.y);
+		}
 		
 		// objects
-		rocks = new Array<Rock>();
-		goldcoins = new Array<GoldCoin>();
-		feathers = new Array<Feather>();
 		carrots = new Array<Carrot>();
+		activeChunks = new Array<LevelChunk>();
 		
-		// load image file that represents the level data
-		Pixmap pixmap = new Pixmap(Gdx.files.internal(filename));
-		// scan pixels from top-left to bottom-right
-		int lastPixel = -1;
-		for (int pixelY = 0; pixelY < pixmap.getHeight(); pixelY++) {
-			for (int pixelX = 0; pixelX < pixmap.getWidth(); pixelX++) {
-				AbstractGameObject obj = null;
-				float offsetHeight = 0;
-				// height grows from bottom to top
-				float baseHeight = pixmap.getHeight() - pixelY;
-				// get color of current pixel as 32-bit RGBA value
-				int currentPixel = pixmap.getPixel(pixelX, pixelY);
-				// find matching color value to identify block type at (x, y)
-				// point and create the corresponding game object if there is a match
-				
-				// empty space
-				if (BLOCK_TYPE.EMPTY.sameColor(currentPixel)) {
-					// do nothing
-				}
-				// rock
-				else if (BLOCK_TYPE.ROCK.sameColor(currentPixel)) {
-					if (lastPixel != currentPixel) {
-						obj = new Rock();
-						float heightIncreaseFactor = 0.25f;
-						offsetHeight = -2.5f;
-						obj.position.set(pixelX, baseHeight * obj.dimension.y * heightIncreaseFactor + offsetHeight);
-						rocks.add((Rock) obj);
-					} else {
-						rocks.get(rocks.size - 1).increaseLength(1);
-					}
-				}
-				// player spawn point
-				else if (BLOCK_TYPE.PLAYER_SPAWNPOINT.sameColor(currentPixel)) {
-					obj = new BunnyHead();
-					offsetHeight = -2.5f;
-					obj.position.set(pixelX, baseHeight * obj.dimension.y + offsetHeight);
-					bunnyHead = (BunnyHead) obj;
-				}
-				// feather
-				else if (BLOCK_TYPE.ITEM_FEATHER.sameColor(currentPixel)) {
-					obj = new Feather();
-					offsetHeight = -1.5f;
-					obj.position.set(pixelX, baseHeight * obj.dimension.y + offsetHeight);
-					feathers.add((Feather) obj);
-				}
-				// gold coin
-				else if (BLOCK_TYPE.ITEM_GOLD_COIN.sameColor(currentPixel)) {
-					obj = new GoldCoin();
-					offsetHeight = -1.5f;
-					obj.position.set(pixelX, baseHeight * obj.dimension.y + offsetHeight);
-					goldcoins.add((GoldCoin) obj);
-				}
-				// goal
-				else if (BLOCK_TYPE.GOAL.sameColor(currentPixel)) {
-					obj = new Goal();
-					offsetHeight = -7.0f;
-					obj.position.set(pixelX, baseHeight + offsetHeight);
-					goal = (Goal) obj;
-				}
-				// unknown object/pixel color
-				else {
-					int r = 0xff & (currentPixel >>> 24); // red color channel
-					int g = 0xff & (currentPixel >>> 16); // green color channel
-					int b = 0xff & (currentPixel >>> 8); // blue color channel
-					int a = 0xff & currentPixel; // alpha channel
-					Gdx.app.error(TAG, "Unknown object at x<" + pixelX + "> y<" + pixelY + ">: r<" + r + "> g<" + g + "> b<" + b + "> a<" + a + ">");
-				}
-				lastPixel = currentPixel;
-			}
+		// goal
+		if (data.goalX >= 0) {
+			goal = new Goal();
+			float offsetHeight = -7.0f;
+			float baseHeight = height - data.goalY;
+			goal.position.set(data.goalX, baseHeight + offsetHeight);
 		}
 		
 		// decoration
-		clouds = new Clouds(pixmap.getWidth());
+		clouds = new Clouds(data.width, random.create(RandomStreams.CLOUDS));
 		clouds.position.set(0, 2);
-		mountains = new Mountains(pixmap.getWidth());
+		mountains = new Mountains(data.width);
 		mountains.position.set(-1, -1);
-		waterOverlay = new WaterOverlay(pixmap.getWidth());
+		waterOverlay = new WaterOverlay(data.width);
 		waterOverlay.position.set(0, -3.75f);
 		
+		updateActiveChunks(bunnyHead != null ? bunnyHead.position.x : 0);
+		Gdx.app.log(TAG, "level '" + name + "' created in " + TimeUtils.nanosToMillis(TimeUtils.timeSinceNanos(start)) + " ms");
+	}
+	
+	/**
+	 * Restores the level to the state right after loading. The chunk store
+	 * keeps the parsed level, so only mutable state is reset and all game
+	 * objects are reused.
+	 */
+	public void reset () {
+		// evict all chunks, then forget what was collected
+		for (int i = activeChunks.size - 1; i >= 0; i--) {
+			LevelChunk chunk = activeChunks.get(i);
+			chunksByIndex[chunk.index] = null;
+			deactivateChunk(chunk);
+		}
+		activeChunks.clear();
+		chunkStore.resetCollected();
+		// the animations start over like after loading
+		motionSystem.resetClock();
+		animationSystem.resetClock();
+		
+		if (bunnyHead != null) {
+			bunnyHead.init();
+			bunnyHead.setPosition(spawnPosition.x, spawnPosition.y);
+		}
+		windowLeft = Integer.MIN_VALUE;
+		windowRight = Integer.MIN_VALUE;
+		updateActiveChunks(spawnPosition.x);
+	}
+	
+	public int getWidth () {
+		return width;
+	}
+	
+	/**
+	 * Turns the chunks that come within {@link #ACTIVE_RADIUS} of the given
+	 * position into game objects and writes back the chunks that left it.
+	 */
+	public void updateActiveChunks (float centerX) {
+		int left = MathUtils.floor(centerX - ACTIVE_RADIUS);
+		int right = MathUtils.floor(centerX + ACTIVE_RADIUS);
+		if (left == windowLeft && right == windowRight) return;
+		windowLeft = left;
+		windowRight = right;
+		
+		// rocks reach into the window from chunks left of it
+		int first = Math.max(0, chunkStore.chunkOf(left) - chunkStore.getMaxRockSpan());
+		int last = chunkStore.chunkOf(right);
+		for (int i = activeChunks.size - 1; i >= 0; i--) {
+			LevelChunk chunk = activeChunks.get(i);
+			if (!isInWindow(chunk.index, first, last)) {
+				deactivateChunk(chunk);
+				activeChunks.removeIndex(i);
+				chunksByIndex[chunk.index] = null;
+			}
+		}
+		for (int index = first; index <= last; index++) {
+			if (isInWindow(index, first, last) && chunksByIndex[index] == null) {
+				LevelChunk chunk = activateChunk(index);
+				activeChunks.add(chunk);
+				chunksByIndex[index] = chunk;
+			}
+		}
+	}
+	
+	private boolean isInWindow (int index, int first, int last) {
+		return index >= first && index <= last
+			&& chunkStore.getChunkEnd(index) >= windowLeft
+			&& index * LevelChunkStore.CHUNK_WIDTH <= windowRight;
+	}
+	
+	private LevelChunk activateChunk (int index) {
+		LevelChunk chunk = chunkPool.obtain();
+		chunk.index = index;
+		// rocks
+		for (int i = 0, n = chunkStore.getRockCount(index); i < n; i++) {
+			float heightIncreaseFactor = 0.25f;
+			float offsetHeight = -2.5f;
+			float baseHeight = height - chunkStore.getRockY(index, i);
+			Entity rock = Rock.create(engine, chunkStore.getRockX(index, i),
+				baseHeight * Rock.TYPE.dimension.y * heightIncreaseFactor + offsetHeight, chunkStore.getRockLength(index, i),
+				chunkStore.getRockPhase(index, i));
+			chunk.rocks.add(rock);
+			// the collision system adds it to the physics
+			engine.addEntity(rock);
+		}
+		// items, by type
+		for (int type = 0; type < chunkItemFactories.length; type++) {
+			for (int i = 0, n = chunkStore.getItemCount(index, type); i < n; i++) {
+				int record = chunkStore.getItemRecord(index, type, i);
+				// the chunk store keeps what was collected
+				if (chunkStore.isCollected(record)) continue;
+				Entity item = chunkItemFactories[type].create(engine, chunkStore.getItemX(record),
+					height - chunkStore.getItemY(record));
+				CollectibleComponent collectible = collectibles.get(item);
+				collectible.record = record;
+				collectible.chunk = index;
+				collectible.slot = chunk.items.size;
+				chunk.items.add(item);
+				engine.addEntity(item);
+			}
+		}
+		return chunk;
+	}
+	
+	private void deactivateChunk (LevelChunk chunk) {
+		// the collision system takes them out of the physics, the engine frees them to its pools
+		for (int i = 0; i < chunk.rocks.size; i++)
+			engine.removeEntity(chunk.rocks.get(i));
+		for (int i = 0; i < chunk.items.size; i++)
+			engine.removeEntity(chunk.items.get(i));
+		chunkPool.free(chunk);
+	}
+	
+	/**
+	 * Reads the level from the level pack if it is in there, otherwise the
+	 * compiled level next to the image file if there is one, otherwise
+	 * decodes the image file.
+	 */
+	public static LevelData load (String filename) {
+		LevelPack pack = LevelPack.getDefault();
+		LevelPack.Entry entry = pack != null ? pack.getEntry(LevelPack.getName(filename)) : null;
+		if (entry != null) {
+			return pack.read(entry);
+		}
+		FileHandle compiled = Gdx.files.internal(LevelFormat.getCompiledFileName(filename));
+		if (compiled.exists()) {
+			return LevelFormat.read(compiled);
+		}
+		// load image file that represents the level data
+		Pixmap pixmap = new Pixmap(Gdx.files.internal(filename));
+		LevelData data = LevelDecoder.decode(pixmap);
 		// free memory
 		pixmap.dispose();
-		Gdx.app.debug(TAG, "level '" + filename + "' loaded");
+		return data;
+	}
+	
+	/**
+	 * Lists the levels of the campaign with their metadata from the level
+	 * pack index, without loading any of them.
+	 * @return the pack entries in order of {@link Constants#LEVELS}, null for levels missing in the pack
+	 */
+	public static Array<LevelPack.Entry> listLevels () {
+		LevelPack pack = LevelPack.getDefault();
+		Array<LevelPack.Entry> levels = new Array<LevelPack.Entry>(Constants.LEVELS.length);
+		for (String filename : Constants.LEVELS) {
+			levels.add(pack != null ? pack.getEntry(LevelPack.getName(filename)) : null);
+		}
+		return levels;
+	}
+	
+	/** @return the entities of the rocks of the active chunks */
+	public ImmutableArray<Entity> getRocks () {
+		return rocks;
+	}
+	
+	/** @return the entities of the items of the active chunks that are not collected yet */
+	public ImmutableArray<Entity> getItems () {
+		return items;
+	}
+	
+	/**
+	 * Marks a collected item in the chunk store, so it is not created again,
+	 * and removes its entity: the systems and the physics only see the items
+	 * left. The item knows its record and its slot in the chunk, the last
+	 * item of the chunk takes the slot. A reset evicts all chunks and
+	 * creates the items again from the chunk store and the engine's pools.
+	 */
+	public void collect (Entity item) {
+		CollectibleComponent collectible = collectibles.get(item);
+		// removed already, touched twice before the pickups were handled
+		if (collectible == null) return;
+		chunkStore.setCollected(collectible.record, true);
+		Array<Entity> items = chunksByIndex[collectible.chunk].items;
+		Entity last = items.peek();
+		items.removeIndex(collectible.slot);
+		if (last != item) collectibles.get(last).slot = collectible.slot;
+		engine.removeEntity(item);
+	}
+	
+	/**
+	 * Sets the visible area of the level. Only objects within
+	 * {@link #SIMULATION_MARGIN} of it are updated.
+	 */
+	public void setSimulationWindow (float x, float y, float width, float height) {
+		x -= SIMULATION_MARGIN;
+		y -= SIMULATION_MARGIN;
+		width += 2 * SIMULATION_MARGIN;
+		height += 2 * SIMULATION_MARGIN;
+		motionSystem.setWindow(x, y, width, height);
+		animationSystem.setWindow(x, y, width, height);
+	}
+	
+	/** Sets the area the camera shows, the objects outside of it are not drawn. */
+	public void setView (float x, float y, float width, float height) {
+		renderSystem.setView(x, y, width, height);
 	}
 	
 	public void update (float deltaTime) {
+		// the clouds only change themselves, they move on a worker meanwhile
+		cloudsDeltaTime = deltaTime;
+		JobSystem.instance.submit(1, 1, updateClouds);
 		bunnyHead.update(deltaTime);
-		for (Rock rock : rocks)
-			rock.update(deltaTime);
-		for (GoldCoin goldCoin : goldcoins)
-			goldCoin.update(deltaTime);
-		for (Feather feather : feathers)
-			feather.update(deltaTime);
 		for (Carrot carrot : carrots)
 			carrot.update(deltaTime);
-		 clouds.update(deltaTime);
+		// rocks, gold coins and feathers are posed for the level clock
+		engine.update(deltaTime);
+		// the barrier of the step, everything is updated after it
+		JobSystem.instance.sync();
 	}
 	
 	public void render (SpriteBatch batch) {
+		render(batch, 1);
+	}
+	
+	/**
+	 * Renders the level between the last two simulation steps. Only objects
+	 * that move are interpolated.
+	 * @param alpha 0 for the previous step, 1 for the current one
+	 */
+	public void render (SpriteBatch batch, float alpha) {
 		mountains.render(batch);
 		goal.render(batch);
-		for (Rock rock : rocks)
-			rock.render(batch);
-		for (GoldCoin goldCoin : goldcoins)
-			goldCoin.render(batch);
-		for (Feather feather : feathers)
-			feather.render(batch);
+		renderSystem.render(batch, alpha);
 		for (Carrot carrot : carrots)
-			carrot.render(batch);
-		bunnyHead.render(batch);
+			carrot.render(batch, alpha);
+		bunnyHead.render(batch, alpha);
 		waterOverlay.render(batch);
 		clouds.render(batch);
 	}
+	
+	@Override
+	public void dispose () {
+		physics.dispose();
+	}
 }
@@ -0,0 +1,224 @@
+package game;
+
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.IntArray;
+
+
+/**
+ * Off-heap store for the objects of a level, split into chunks of
+ * {@link #CHUNK_WIDTH} columns. Everything is kept in one direct buffer so
+ * the heap cost of a level does not depend on its length; {@link Level}
+ * only turns the chunks around the camera into game objects.
+ *
+ * Layout: a table with one entry per chunk, followed by the rock records
+ * (x, y, length, float phase) and the item records (x, y, collected) of all
+ * chunks, grouped by chunk. Items are kept by type, in the order of the
+ * types in {@link LevelData#items}, so a new type of item needs nothing
+ * here. Coordinates are pixel coordinates of the level image, so the store
+ * is a lossless copy of {@link LevelData}.
+ */
+public class LevelChunkStore {
+	public static final String TAG = LevelChunkStore.class.getName();
+
+	public static final int CHUNK_WIDTH = 32;
+
+	// rock offset, rock count, last column covered by a rock of the chunk,
+	// then item offset and item count of each item type
+	private static final int CHUNK_ROCKS = 0;
+	private static final int CHUNK_ROCK_COUNT = 1;
+	private static final int CHUNK_END = 2;
+	private static final int CHUNK_ITEMS = 3;
+	private static final int ROCK_SIZE = 4 * 4;
+	private static final int ITEM_SIZE = 3 * 4;
+
+	private static final int ROCK_X = 0;
+	private static final int ROCK_Y = 4;
+	private static final int ROCK_LENGTH = 8;
+	private static final int ROCK_PHASE = 12;
+	private static final int ITEM_X = 0;
+	private static final int ITEM_Y = 4;
+	private static final int ITEM_COLLECTED = 8;
+
+	private final ByteBuffer buffer;
+	private final int chunkCount;
+	private final String[] itemTypes;
+	private final int chunkEntrySize;
+	// all item records follow each other from here
+	private final int firstItem;
+	private final int itemCount;
+	// number of chunks the longest rock reaches beyond its own chunk
+	private int maxRockSpan;
+
+	/** @param random the stream of the level, the float phases of the rocks are drawn from it */
+	public LevelChunkStore (LevelData data, RandomXS128 random) {
+		chunkCount = Math.max(1, (data.width + CHUNK_WIDTH - 1) / CHUNK_WIDTH);
+		itemTypes = data.items.keys().toArray().toArray(String.class);
+		chunkEntrySize = (CHUNK_ITEMS + 2 * itemTypes.length) * 4;
+		itemCount = data.getItemCount();
+		int size = chunkCount * chunkEntrySize + data.getRockCount() * ROCK_SIZE + itemCount * ITEM_SIZE;
+		buffer = BufferUtils.newByteBuffer(size);
+
+		int offset = chunkCount * chunkEntrySize;
+		offset = writeRocks(data, random, offset);
+		firstItem = offset;
+		for (int type = 0; type < itemTypes.length; type++) {
+			IntArray items = data.items.get(itemTypes[type]);
+			offset = writeItems(items.items, items.size, CHUNK_ITEMS + 2 * type, offset);
+		}
+	}
+
+	private int writeRocks (LevelData data, RandomXS128 random, int offset) {
+		int[] rocks = data.rocks.items;
+		int[] counts = new int[chunkCount];
+		for (int i = 0; i < data.rocks.size; i += 3) {
+			counts[chunkOf(rocks[i])]++;
+		}
+		int[] next = new int[chunkCount];
+		for (int chunk = 0; chunk < chunkCount; chunk++) {
+			setChunkEntry(chunk, CHUNK_ROCKS, offset);
+			setChunkEntry(chunk, CHUNK_ROCK_COUNT, counts[chunk]);
+			setChunkEntry(chunk, CHUNK_END, (chunk + 1) * CHUNK_WIDTH - 1);
+			next[chunk] = offset;
+			offset += counts[chunk] * ROCK_SIZE;
+		}
+		for (int i = 0; i < data.rocks.size; i += 3) {
+			int x = rocks[i];
+			int length = rocks[i + 2];
+			int chunk = chunkOf(x);
+			int record = next[chunk];
+			next[chunk] += ROCK_SIZE;
+			buffer.putInt(record + ROCK_X, x);
+			buffer.putInt(record + ROCK_Y, rocks[i + 1]);
+			buffer.putInt(record + ROCK_LENGTH, length);
+			buffer.putFloat(record + ROCK_PHASE, random.nextFloat());
+			int lastColumn = x + length - 1;
+			if (lastColumn > getChunkEntry(chunk, CHUNK_END)) {
+				setChunkEntry(chunk, CHUNK_END, lastColumn);
+				maxRockSpan = Math.max(maxRockSpan, chunkOf(lastColumn) - chunk);
+			}
+		}
+		return offset;
+	}
+
+	private int writeItems (int[] items, int size, int entry, int offset) {
+		int[] counts = new int[chunkCount];
+		for (int i = 0; i < size; i += 2) {
+			counts[chunkOf(items[i])]++;
+		}
+		int[] next = new int[chunkCount];
+		for (int chunk = 0; chunk < chunkCount; chunk++) {
+			setChunkEntry(chunk, entry, offset);
+			setChunkEntry(chunk, entry + 1, counts[chunk]);
+			next[chunk] = offset;
+			offset += counts[chunk] * ITEM_SIZE;
+		}
+		for (int i = 0; i < size; i += 2) {
+			int chunk = chunkOf(items[i]);
+			int record = next[chunk];
+			next[chunk] += ITEM_SIZE;
+			buffer.putInt(record + ITEM_X, items[i]);
+			buffer.putInt(record + ITEM_Y, items[i + 1]);
+			buffer.putInt(record + ITEM_COLLECTED, 0);
+		}
+		return offset;
+	}
+
+	/** Marks all items as not collected. */
+	public void resetCollected () {
+		for (int i = 0; i < itemCount; i++) {
+			buffer.putInt(firstItem + i * ITEM_SIZE + ITEM_COLLECTED, 0);
+		}
+	}
+
+	private int getChunkEntry (int chunk, int entry) {
+		return buffer.getInt(chunk * chunkEntrySize + entry * 4);
+	}
+
+	private void setChunkEntry (int chunk, int entry, int value) {
+		buffer.putInt(chunk * chunkEntrySize + entry * 4, value);
+	}
+
+	public int chunkOf (float x) {
+		return MathUtils.clamp(MathUtils.floor(x / CHUNK_WIDTH), 0, chunkCount - 1);
+	}
+
+	public int getChunkCount () {
+		return chunkCount;
+	}
+
+	public int getMaxRockSpan () {
+		return maxRockSpan;
+	}
+
+	/** @return the last column covered by any rock of the chunk, at least the end of the chunk */
+	public int getChunkEnd (int chunk) {
+		return getChunkEntry(chunk, CHUNK_END);
+	}
+
+	// rocks
+
+	public int getRockCount (int chunk) {
+		return getChunkEntry(chunk, CHUNK_ROCK_COUNT);
+	}
+
+	private int rock (int chunk, int index) {
+		return getChunkEntry(chunk, CHUNK_ROCKS) + index * ROCK_SIZE;
+	}
+
+	public int getRockX (int chunk, int index) {
+		return buffer.getInt(rock(chunk, index) + ROCK_X);
+	}
+
+	public int getRockY (int chunk, int index) {
+		return buffer.getInt(rock(chunk, index) + ROCK_Y);
+	}
+
+	public int getRockLength (int chunk, int index) {
+		return buffer.getInt(rock(chunk, index) + ROCK_LENGTH);
+	}
+
+	/** @return float cycle phase of the rock in [0, 1) */
+	public float getRockPhase (int chunk, int index) {
+		return buffer.getFloat(rock(chunk, index) + ROCK_PHASE);
+	}
+
+	// items
+
+	public int getItemTypeCount () {
+		return itemTypes.length;
+	}
+
+	/** @return the palette type of the items of the type index */
+	public String getItemType (int type) {
+		return itemTypes[type];
+	}
+
+	public int getItemCount (int chunk, int type) {
+		return getChunkEntry(chunk, CHUNK_ITEMS + 2 * type + 1);
+	}
+
+	/** @return the record of the item, it stays valid as long as the store */
+	public int getItemRecord (int chunk, int type, int index) {
+		return getChunkEntry(chunk, CHUNK_ITEMS + 2 * type) + index * ITEM_SIZE;
+	}
+
+	public int getItemX (int record) {
+		return buffer.getInt(record + ITEM_X);
+	}
+
+	public int getItemY (int record) {
+		return buffer.getInt(record + ITEM_Y);
+	}
+
+	public boolean isCollected (int record) {
+		return buffer.getInt(record + ITEM_COLLECTED) != 0;
+	}
+
+	public void setCollected (int record, boolean collected) {
+		buffer.putInt(record + ITEM_COLLECTED, collected ? 1 : 0);
+	}
+}
@@ -0,0 +1,111 @@
+package game;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.OrderedMap;
+
+import game.LevelPalette.PixelHandler;
+
+public class LevelData {
+	public static final String TAG = LevelData.class.getName();
+
+	// size of the level image in pixels
+	public int width;
+	public int height;
+
+	public static final String ROCK = "rock";
+	public static final String GOLD_COIN = "goldcoin";
+	public static final String FEATHER = "feather";
+
+	// rock runs, packed as (x, y, length) in pixel coordinates
+	public IntArray rocks;
+	// items of each palette type, packed as (x, y) in pixel coordinates
+	public final OrderedMap<String, IntArray> items = new OrderedMap<String, IntArray>();
+	// the items of the built-in types, also in the map
+	public IntArray goldcoins;
+	public IntArray feathers;
+
+	// player spawn point and goal, -1 if not present
+	public int spawnX = -1;
+	public int spawnY = -1;
+	public int goalX = -1;
+	public int goalY = -1;
+
+	public LevelData () {
+		this(16, 16);
+	}
+
+	public LevelData (int rockCapacity, int itemCapacity) {
+		rocks = new IntArray(rockCapacity * 3);
+		goldcoins = getItems(GOLD_COIN, itemCapacity);
+		feathers = getItems(FEATHER, itemCapacity);
+	}
+
+	/** @return the items of the palette type, an empty array is added if there are none yet */
+	public IntArray getItems (String type) {
+		return getItems(type, 16);
+	}
+
+	private IntArray getItems (String type, int capacity) {
+		IntArray records = items.get(type);
+		if (records == null) {
+			records = new IntArray(capacity * 2);
+			items.put(type, records);
+		}
+		return records;
+	}
+
+	/** @return the number of items of all types */
+	public int getItemCount () {
+		int count = 0;
+		for (IntArray records : items.values())
+			count += records.size / 2;
+		return count;
+	}
+
+	public int getRockCount () {
+		return rocks.size / 3;
+	}
+
+	public int getGoldCoinCount () {
+		return goldcoins.size / 2;
+	}
+
+	public int getFeatherCount () {
+		return feathers.size / 2;
+	}
+
+	public static LevelData parse (Pixmap pixmap) {
+		return parse(pixmap, LevelPalette.getDefault());
+	}
+
+	/** Reference loader: scans the image pixel by pixel through {@link Pixmap#getPixel(int, int)}. */
+	public static LevelData parse (Pixmap pixmap, LevelPalette palette) {
+		LevelData data = new LevelData();
+		data.width = pixmap.getWidth();
+		data.height = pixmap.getHeight();
+		IntIntMap unknownCounts = new IntIntMap();
+		IntIntMap unknownFirst = new IntIntMap();
+		// scan pixels from top-left to bottom-right
+		int lastPixel = -1;
+		for (int pixelY = 0; pixelY < pixmap.getHeight(); pixelY++) {
+			for (int pixelX = 0; pixelX < pixmap.getWidth(); pixelX++) {
+				// get color of current pixel as 32-bit RGBA value
+				int currentPixel = pixmap.getPixel(pixelX, pixelY);
+				// find the object type of the color and let it create its object
+				PixelHandler handler = palette.get(currentPixel);
+				if (handler != null) {
+					handler.handle(data, pixelX, pixelY, currentPixel == lastPixel);
+				} else {
+					// unknown object/pixel color, reported once per color
+					if (!unknownFirst.containsKey(currentPixel)) unknownFirst.put(currentPixel, pixelY * data.width + pixelX);
+					unknownCounts.getAndIncrement(currentPixel, 0, 1);
+				}
+				lastPixel = currentPixel;
+			}
+		}
+		LevelPalette.reportUnknown(unknownCounts, unknownFirst, data.width);
+		return data;
+	}
+}
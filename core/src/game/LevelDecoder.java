@@ -0,0 +1,198 @@
+package game;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.badlogic.gdx.Application.ApplicationType;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import game.LevelPalette.PixelHandler;
+import util.DaemonThreadFactory;
+
+/**
+ * Decodes level images by reading the pixel buffer of the pixmap in bulk.
+ * Large images are split into bands of rows that are decoded on a thread
+ * pool; the bands are merged in row order so the result is identical to
+ * {@link LevelData#parse(Pixmap)}.
+ */
+public class LevelDecoder {
+	public static final String TAG = LevelDecoder.class.getName();
+
+	// images with fewer pixels are decoded on the calling thread
+	private static final int MIN_PARALLEL_PIXELS = 64 * 1024;
+
+	private static ExecutorService executor;
+	private static int threadCount;
+
+	// prevent instantiation
+	private LevelDecoder () { }
+
+	public static LevelData decode (Pixmap pixmap) {
+		return decode(pixmap, LevelPalette.getDefault());
+	}
+
+	public static LevelData decode (Pixmap pixmap, LevelPalette palette) {
+		int threads = 1;
+		if (pixmap.getWidth() * pixmap.getHeight() >= MIN_PARALLEL_PIXELS) {
+			threads = Runtime.getRuntime().availableProcessors();
+		}
+		return decode(pixmap, palette, threads);
+	}
+
+	public static LevelData decode (Pixmap pixmap, final LevelPalette palette, int threads) {
+		final Format format = pixmap.getFormat();
+		if (format != Format.RGBA8888 && format != Format.RGB888) {
+			// no bulk access for other formats
+			return LevelData.parse(pixmap, palette);
+		}
+		// threads are not available in the browser
+		if (Gdx.app != null && Gdx.app.getType() == ApplicationType.WebGL) threads = 1;
+
+		final ByteBuffer pixels = pixmap.getPixels();
+		final int width = pixmap.getWidth();
+		final int height = pixmap.getHeight();
+		int bands = Math.max(1, Math.min(threads, height));
+
+		Band[] results = new Band[bands];
+		if (bands == 1) {
+			results[0] = decodeRows(pixels, format, palette, width, 0, height);
+		} else {
+			List<Future<Band>> futures = new ArrayList<Future<Band>>(bands);
+			ExecutorService executor = getExecutor(bands);
+			for (int i = 0; i < bands; i++) {
+				final int firstRow = height * i / bands;
+				final int lastRow = height * (i + 1) / bands;
+				futures.add(executor.submit(new Callable<Band>() {
+					@Override
+					public Band call () {
+						return decodeRows(pixels, format, palette, width, firstRow, lastRow);
+					}
+				}));
+			}
+			try {
+				for (int i = 0; i < bands; i++) {
+					results[i] = futures.get(i).get();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new GdxRuntimeException("Level decoding interrupted", e);
+			} catch (ExecutionException e) {
+				throw new GdxRuntimeException("Level decoding failed", e.getCause());
+			}
+		}
+		return merge(results, palette, width, height);
+	}
+
+	private static synchronized ExecutorService getExecutor (int threads) {
+		if (executor == null || threadCount < threads) {
+			if (executor != null) executor.shutdown();
+			executor = Executors.newFixedThreadPool(threads, new DaemonThreadFactory("LevelDecoder"));
+			threadCount = threads;
+		}
+		return executor;
+	}
+
+	/** Objects found in a band of rows, in row-major order. */
+	private static class Band {
+		final LevelData data = new LevelData();
+		// colors of the first and the last pixel of the band
+		int firstPixel;
+		int lastPixel;
+		// pixel count and first pixel index of unknown colors
+		final IntIntMap unknownCounts = new IntIntMap();
+		final IntIntMap unknownFirst = new IntIntMap();
+	}
+
+	private static Band decodeRows (ByteBuffer pixels, Format format, LevelPalette palette, int width, int firstRow, int lastRow) {
+		Band band = new Band();
+		LevelData data = band.data;
+		IntBuffer rgba = null;
+		if (format == Format.RGBA8888) {
+			ByteBuffer buffer = pixels.duplicate();
+			buffer.position(0);
+			rgba = buffer.order(ByteOrder.BIG_ENDIAN).asIntBuffer();
+		}
+		int lastPixel = -1;
+		for (int pixelY = firstRow; pixelY < lastRow; pixelY++) {
+			int index = pixelY * width;
+			for (int pixelX = 0; pixelX < width; pixelX++, index++) {
+				int currentPixel;
+				if (rgba != null) {
+					currentPixel = rgba.get(index);
+				} else {
+					int offset = index * 3;
+					currentPixel = (pixels.get(offset) & 0xff) << 24 | (pixels.get(offset + 1) & 0xff) << 16
+						| (pixels.get(offset + 2) & 0xff) << 8 | 0xff;
+				}
+
+				PixelHandler handler = palette.get(currentPixel);
+				if (handler != null) {
+					handler.handle(data, pixelX, pixelY, currentPixel == lastPixel);
+				} else {
+					if (!band.unknownFirst.containsKey(currentPixel)) band.unknownFirst.put(currentPixel, index);
+					band.unknownCounts.getAndIncrement(currentPixel, 0, 1);
+				}
+				if (pixelY == firstRow && pixelX == 0) band.firstPixel = currentPixel;
+				lastPixel = currentPixel;
+			}
+		}
+		band.lastPixel = lastPixel;
+		return band;
+	}
+
+	private static LevelData merge (Band[] bands, LevelPalette palette, int width, int height) {
+		int rocks = 0, items = 0;
+		for (Band band : bands) {
+			rocks += band.data.getRockCount();
+			items += band.data.getItemCount();
+		}
+		LevelData data = new LevelData(rocks, items);
+		data.width = width;
+		data.height = height;
+		IntIntMap unknownCounts = new IntIntMap();
+		IntIntMap unknownFirst = new IntIntMap();
+		int lastPixel = -1;
+		for (Band band : bands) {
+			LevelData part = band.data;
+			int firstRock = 0;
+			// a run of rock pixels continues across the end of a row
+			if (lastPixel == band.firstPixel && palette.isRock(band.firstPixel)) {
+				data.rocks.incr(data.rocks.size - 1, part.rocks.get(2));
+				firstRock = 3;
+			}
+			data.rocks.addAll(part.rocks, firstRock, part.rocks.size - firstRock);
+			// items of every type, types first seen in a later band are added after the others
+			for (ObjectMap.Entry<String, IntArray> entry : part.items.entries())
+				data.getItems(entry.key).addAll(entry.value);
+			if (part.spawnX >= 0) {
+				data.spawnX = part.spawnX;
+				data.spawnY = part.spawnY;
+			}
+			if (part.goalX >= 0) {
+				data.goalX = part.goalX;
+				data.goalY = part.goalY;
+			}
+			for (IntIntMap.Entry entry : band.unknownCounts.entries()) {
+				if (!unknownFirst.containsKey(entry.key)) unknownFirst.put(entry.key, band.unknownFirst.get(entry.key, 0));
+				unknownCounts.getAndIncrement(entry.key, 0, entry.value);
+			}
+			lastPixel = band.lastPixel;
+		}
+		LevelPalette.reportUnknown(unknownCounts, unknownFirst, width);
+		return data;
+	}
+}
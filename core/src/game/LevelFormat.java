@@ -0,0 +1,179 @@
+package game;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Compiled binary level format. A fixed size header with the level size and
+ * object counts is followed by packed arrays of rock runs (x, y, length),
+ * gold coins (x, y) and feathers (x, y). Items of other types follow in an
+ * optional section: the number of types, then for each its name as a
+ * length and chars, the item count and the items. Levels without such
+ * items end before it, readers of levels that end there see no other
+ * types. All values are big endian ints in pixel coordinates of the source
+ * image, so {@link Level} builds exactly the same objects as it would from
+ * the PNG.
+ */
+public class LevelFormat {
+	public static final String TAG = LevelFormat.class.getName();
+
+	// file extension of compiled levels, replaces ".png" of the source image
+	public static final String EXTENSION = ".lvl";
+
+	private static final int MAGIC = 0x43424c56; // "CBLV"
+	private static final int VERSION = 1;
+
+	// magic, version, width, height, rock count, coin count, feather count,
+	// spawn x/y, goal x/y
+	public static final int HEADER_SIZE = 11 * 4;
+	// byte offsets of header fields
+	public static final int WIDTH_OFFSET = 2 * 4;
+	public static final int HEIGHT_OFFSET = 3 * 4;
+	public static final int ROCK_COUNT_OFFSET = 4 * 4;
+	public static final int GOLD_COIN_COUNT_OFFSET = 5 * 4;
+	public static final int FEATHER_COUNT_OFFSET = 6 * 4;
+
+	// prevent instantiation
+	private LevelFormat () { }
+
+	public static String getCompiledFileName (String filename) {
+		int dot = filename.lastIndexOf('.');
+		return (dot < 0 ? filename : filename.substring(0, dot)) + EXTENSION;
+	}
+
+	public static int getSize (LevelData data) {
+		int size = HEADER_SIZE + (data.rocks.size + data.goldcoins.size + data.feathers.size) * 4;
+		int otherTypes = 0;
+		for (ObjectMap.Entry<String, IntArray> entry : data.items.entries()) {
+			if (isBuiltIn(entry.key)) continue;
+			size += 4 + entry.key.length() * 2 + 4 + entry.value.size * 4;
+			otherTypes++;
+		}
+		return otherTypes > 0 ? size + 4 : size;
+	}
+
+	private static boolean isBuiltIn (String type) {
+		return type.equals(LevelData.GOLD_COIN) || type.equals(LevelData.FEATHER);
+	}
+
+	public static void write (LevelData data, ByteBuffer buffer) {
+		buffer.putInt(MAGIC);
+		buffer.putInt(VERSION);
+		buffer.putInt(data.width);
+		buffer.putInt(data.height);
+		buffer.putInt(data.getRockCount());
+		buffer.putInt(data.getGoldCoinCount());
+		buffer.putInt(data.getFeatherCount());
+		buffer.putInt(data.spawnX);
+		buffer.putInt(data.spawnY);
+		buffer.putInt(data.goalX);
+		buffer.putInt(data.goalY);
+		buffer.asIntBuffer().put(data.rocks.items, 0, data.rocks.size);
+		buffer.position(buffer.position() + data.rocks.size * 4);
+		buffer.asIntBuffer().put(data.goldcoins.items, 0, data.goldcoins.size);
+		buffer.position(buffer.position() + data.goldcoins.size * 4);
+		buffer.asIntBuffer().put(data.feathers.items, 0, data.feathers.size);
+		buffer.position(buffer.position() + data.feathers.size * 4);
+		int otherTypes = 0;
+		for (String type : data.items.keys())
+			if (!isBuiltIn(type)) otherTypes++;
+		if (otherTypes == 0) return;
+		buffer.putInt(otherTypes);
+		for (ObjectMap.Entry<String, IntArray> entry : data.items.entries()) {
+			if (isBuiltIn(entry.key)) continue;
+			buffer.putInt(entry.key.length());
+			for (int i = 0; i < entry.key.length(); i++)
+				buffer.putChar(entry.key.charAt(i));
+			buffer.putInt(entry.value.size / 2);
+			buffer.asIntBuffer().put(entry.value.items, 0, entry.value.size);
+			buffer.position(buffer.position() + entry.value.size * 4);
+		}
+	}
+
+	public static byte[] toBytes (LevelData data) {
+		ByteBuffer buffer = ByteBuffer.allocate(getSize(data));
+		write(data, buffer);
+		return buffer.array();
+	}
+
+	/** Checks that the remaining bytes of the buffer are a compiled level of this version, leaves its position untouched. */
+	public static void checkHeader (ByteBuffer buffer) {
+		if (buffer.remaining() < HEADER_SIZE || buffer.getInt(buffer.position()) != MAGIC)
+			throw new GdxRuntimeException("Not a compiled level");
+		int version = buffer.getInt(buffer.position() + 4);
+		if (version != VERSION) throw new GdxRuntimeException("Unsupported level version: " + version);
+	}
+
+	public static LevelData read (ByteBuffer buffer) {
+		checkHeader(buffer);
+		buffer.position(buffer.position() + WIDTH_OFFSET);
+		int width = buffer.getInt();
+		int height = buffer.getInt();
+		int rockCount = buffer.getInt();
+		int coinCount = buffer.getInt();
+		int featherCount = buffer.getInt();
+		LevelData data = new LevelData(rockCount, Math.max(coinCount, featherCount));
+		data.width = width;
+		data.height = height;
+		data.spawnX = buffer.getInt();
+		data.spawnY = buffer.getInt();
+		data.goalX = buffer.getInt();
+		data.goalY = buffer.getInt();
+		readInts(buffer, data.rocks.ensureCapacity(rockCount * 3), rockCount * 3);
+		data.rocks.size = rockCount * 3;
+		readInts(buffer, data.goldcoins.ensureCapacity(coinCount * 2), coinCount * 2);
+		data.goldcoins.size = coinCount * 2;
+		readInts(buffer, data.feathers.ensureCapacity(featherCount * 2), featherCount * 2);
+		data.feathers.size = featherCount * 2;
+		if (!buffer.hasRemaining()) return data;
+		int otherTypes = buffer.getInt();
+		for (int i = 0; i < otherTypes; i++) {
+			char[] name = new char[buffer.getInt()];
+			for (int c = 0; c < name.length; c++)
+				name[c] = buffer.getChar();
+			int count = buffer.getInt();
+			IntArray items = data.getItems(new String(name));
+			readInts(buffer, items.ensureCapacity(count * 2), count * 2);
+			items.size = count * 2;
+		}
+		return data;
+	}
+
+	private static void readInts (ByteBuffer buffer, int[] dst, int count) {
+		buffer.asIntBuffer().get(dst, 0, count);
+		buffer.position(buffer.position() + count * 4);
+	}
+
+	public static LevelData read (FileHandle file) {
+		return read(map(file));
+	}
+
+	/**
+	 * Maps the file into memory if it is backed by a real file on disk (desktop),
+	 * otherwise reads it into a heap buffer (Android assets, classpath).
+	 */
+	public static ByteBuffer map (FileHandle file) {
+		if (file.type() != FileType.Classpath && file.file().exists()) {
+			try {
+				RandomAccessFile raf = new RandomAccessFile(file.file(), "r");
+				try {
+					FileChannel channel = raf.getChannel();
+					return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+				} finally {
+					raf.close();
+				}
+			} catch (IOException e) {
+				throw new GdxRuntimeException("Couldn't map level file '" + file + "'", e);
+			}
+		}
+		return ByteBuffer.wrap(file.readBytes());
+	}
+}
@@ -0,0 +1,133 @@
+package game;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+
+import game.Level.BLOCK_TYPE;
+
+/**
+ * Generates large levels for load and scaling tests. The output only
+ * depends on the {@link Settings}, the same seed always gives the same
+ * level. Levels are generated in memory and can be written as images in
+ * the colors of {@link BLOCK_TYPE}; decoding such an image gives back the
+ * same level data.
+ */
+public class LevelGenerator {
+	public static final String TAG = LevelGenerator.class.getName();
+
+	public static class Settings {
+		public long seed = 1;
+		// size of the level image in pixels
+		public int width = 10000;
+		public int height = 32;
+		// chance of a column to have a rock
+		public float rockDensity = 0.6f;
+		// chance of a column to have a coin or feather above the ground
+		public float goldCoinDensity = 0.3f;
+		public float featherDensity = 0.02f;
+		// number of rows the ground moves up and down in
+		public int verticalSpread = 8;
+		// chance of the ground to move up or down by one row per column
+		public float slopeChance = 0.25f;
+	}
+
+	// items are placed up to this many rows above the ground
+	private static final int ITEM_ROWS = 3;
+
+	/** @return a level in the same pixel order as if it was decoded from an image */
+	public static LevelData generate (Settings settings) {
+		if (settings.width < 4 || settings.verticalSpread < 1 || settings.height < settings.verticalSpread + ITEM_ROWS + 1)
+			throw new GdxRuntimeException("Invalid level generator settings: " + settings.width + "x" + settings.height
+				+ ", vertical spread " + settings.verticalSpread);
+		int width = settings.width;
+		int height = settings.height;
+		RandomXS128 random = new RandomXS128(settings.seed);
+
+		// objects per row, packed as (x, type), in column order
+		IntArray[] rows = new IntArray[height];
+		for (int y = 0; y < height; y++)
+			rows[y] = new IntArray();
+		int top = height - settings.verticalSpread;
+		int ground = top + settings.verticalSpread / 2;
+		for (int x = 0; x < width; x++) {
+			if (random.nextFloat() < settings.slopeChance) {
+				ground += random.nextBoolean() ? 1 : -1;
+				ground = Math.max(top, Math.min(height - 1, ground));
+			}
+			if (random.nextFloat() < settings.rockDensity) add(rows[ground], x, BLOCK_TYPE.ROCK);
+			if (random.nextFloat() < settings.goldCoinDensity) add(rows[ground - 2], x, BLOCK_TYPE.ITEM_GOLD_COIN);
+			if (random.nextFloat() < settings.featherDensity) add(rows[ground - 3], x, BLOCK_TYPE.ITEM_FEATHER);
+		}
+		// spawn and goal above the ground at both ends, never covered by items
+		add(rows[top - ITEM_ROWS - 1], 1, BLOCK_TYPE.PLAYER_SPAWNPOINT);
+		add(rows[top - ITEM_ROWS - 1], width - 2, BLOCK_TYPE.GOAL);
+
+		// collect the objects in row-major order, joining rock runs like the image decoder
+		LevelData data = new LevelData(width, width / 2);
+		data.width = width;
+		data.height = height;
+		LevelPalette palette = LevelPalette.createBuiltIn();
+		BLOCK_TYPE[] types = BLOCK_TYPE.values();
+		int lastIndex = -1;
+		int lastType = -1;
+		for (int y = 0; y < height; y++) {
+			IntArray row = rows[y];
+			for (int i = 0; i < row.size; i += 2) {
+				int x = row.get(i);
+				int type = row.get(i + 1);
+				int index = y * width + x;
+				palette.get(types[type].getColor()).handle(data, x, y, index == lastIndex + 1 && type == lastType);
+				lastIndex = index;
+				lastType = type;
+			}
+		}
+		return data;
+	}
+
+	private static void add (IntArray row, int x, BLOCK_TYPE type) {
+		row.add(x);
+		row.add(type.ordinal());
+	}
+
+	/** @return an RGBA8888 image of the level in the colors of {@link BLOCK_TYPE} */
+	public static Pixmap toPixmap (LevelData data) {
+		Pixmap pixmap = new Pixmap(data.width, data.height, Format.RGBA8888);
+		pixmap.setColor(BLOCK_TYPE.EMPTY.getColor());
+		pixmap.fill();
+		pixmap.setColor(BLOCK_TYPE.ROCK.getColor());
+		for (int i = 0; i < data.rocks.size; i += 3) {
+			int x = data.rocks.get(i);
+			int y = data.rocks.get(i + 1);
+			int length = data.rocks.get(i + 2);
+			// a run may continue on the next row, like in the decoder
+			while (length > 0) {
+				int n = Math.min(length, data.width - x);
+				pixmap.fillRectangle(x, y, n, 1);
+				length -= n;
+				x = 0;
+				y++;
+			}
+		}
+		for (int i = 0; i < data.goldcoins.size; i += 2)
+			pixmap.drawPixel(data.goldcoins.get(i), data.goldcoins.get(i + 1), BLOCK_TYPE.ITEM_GOLD_COIN.getColor());
+		for (int i = 0; i < data.feathers.size; i += 2)
+			pixmap.drawPixel(data.feathers.get(i), data.feathers.get(i + 1), BLOCK_TYPE.ITEM_FEATHER.getColor());
+		if (data.spawnX >= 0) pixmap.drawPixel(data.spawnX, data.spawnY, BLOCK_TYPE.PLAYER_SPAWNPOINT.getColor());
+		if (data.goalX >= 0) pixmap.drawPixel(data.goalX, data.goalY, BLOCK_TYPE.GOAL.getColor());
+		return pixmap;
+	}
+
+	/** Generates a level and writes it as a level image. */
+	public static LevelData writePNG (Settings settings, FileHandle file) {
+		LevelData data = generate(settings);
+		Pixmap pixmap = toPixmap(data);
+		PixmapIO.writePNG(file, pixmap);
+		pixmap.dispose();
+		return data;
+	}
+}
@@ -0,0 +1,220 @@
+package game;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import util.Constants;
+
+/**
+ * Single file archive of compiled levels. A header and a fixed size index
+ * table come first, so the levels and their metadata can be listed without
+ * touching any payload, and a single level can be read without reading
+ * the others. Payloads are in {@link LevelFormat}.
+ *
+ * Index entry: name (32 bytes, UTF-8, zero padded), payload offset and
+ * length, level width and height, rock, coin and feather counts and the
+ * FNV-1a checksum of the payload.
+ */
+public class LevelPack {
+	public static final String TAG = LevelPack.class.getName();
+
+	private static final int MAGIC = 0x43424c50; // "CBLP"
+	private static final int VERSION = 1;
+	public static final int HEADER_SIZE = 3 * 4;
+	public static final int NAME_SIZE = 32;
+	public static final int ENTRY_SIZE = NAME_SIZE + 8 * 4;
+
+	private static LevelPack defaultPack;
+	private static boolean defaultPackLoaded;
+
+	public static class Entry {
+		public String name;
+		public int offset;
+		public int length;
+		public int width;
+		public int height;
+		public int rockCount;
+		public int goldCoinCount;
+		public int featherCount;
+		public int checksum;
+	}
+
+	private final FileHandle file;
+	private final Array<Entry> entries;
+	// whole file mapped into memory, if it is a file on disk
+	private ByteBuffer mapped;
+
+	public LevelPack (FileHandle file) {
+		this.file = file;
+		entries = readIndex(file);
+	}
+
+	/** @return the pack of {@link Constants#LEVEL_PACK}, null if there is none */
+	public static synchronized LevelPack getDefault () {
+		if (!defaultPackLoaded) {
+			FileHandle file = Gdx.files.internal(Constants.LEVEL_PACK);
+			defaultPack = file.exists() ? new LevelPack(file) : null;
+			defaultPackLoaded = true;
+		}
+		return defaultPack;
+	}
+
+	/** Forgets the default pack, so it is read again after the pack file was rebuilt. */
+	public static synchronized void resetDefault () {
+		defaultPack = null;
+		defaultPackLoaded = false;
+	}
+
+	/** @return the name of the level in a pack, the file name without directory and extension */
+	public static String getName (String filename) {
+		int slash = filename.lastIndexOf('/');
+		int dot = filename.lastIndexOf('.');
+		return filename.substring(slash + 1, dot > slash ? dot : filename.length());
+	}
+
+	public Array<Entry> getEntries () {
+		return entries;
+	}
+
+	public Entry getEntry (String name) {
+		for (Entry entry : entries)
+			if (entry.name.equals(name)) return entry;
+		return null;
+	}
+
+	private static Array<Entry> readIndex (FileHandle file) {
+		DataInputStream in = new DataInputStream(file.read(HEADER_SIZE + 64 * ENTRY_SIZE));
+		try {
+			if (in.readInt() != MAGIC) throw new GdxRuntimeException("Not a level pack: " + file);
+			int version = in.readInt();
+			if (version != VERSION) throw new GdxRuntimeException("Unsupported level pack version: " + version);
+			int count = in.readInt();
+			Array<Entry> entries = new Array<Entry>(count);
+			byte[] name = new byte[NAME_SIZE];
+			for (int i = 0; i < count; i++) {
+				Entry entry = new Entry();
+				in.readFully(name);
+				int nameLength = 0;
+				while (nameLength < NAME_SIZE && name[nameLength] != 0)
+					nameLength++;
+				entry.name = new String(name, 0, nameLength, "UTF-8");
+				entry.offset = in.readInt();
+				entry.length = in.readInt();
+				entry.width = in.readInt();
+				entry.height = in.readInt();
+				entry.rockCount = in.readInt();
+				entry.goldCoinCount = in.readInt();
+				entry.featherCount = in.readInt();
+				entry.checksum = in.readInt();
+				entries.add(entry);
+			}
+			return entries;
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Couldn't read level pack index: " + file, e);
+		} finally {
+			StreamUtils.closeQuietly(in);
+		}
+	}
+
+	/** @return the payload of the level, checked against its checksum */
+	public synchronized ByteBuffer readPayload (Entry entry) {
+		ByteBuffer payload;
+		if (file.type() != FileType.Classpath && file.file().exists()) {
+			if (mapped == null) mapped = LevelFormat.map(file);
+			payload = mapped.duplicate();
+			payload.position(entry.offset);
+			payload.limit(entry.offset + entry.length);
+			payload = payload.slice();
+		} else {
+			// assets can not be mapped, skip to the payload instead
+			byte[] bytes = new byte[entry.length];
+			InputStream in = file.read();
+			try {
+				long skipped = 0;
+				while (skipped < entry.offset) {
+					long n = in.skip(entry.offset - skipped);
+					if (n <= 0) throw new IOException("Unexpected end of level pack");
+					skipped += n;
+				}
+				new DataInputStream(in).readFully(bytes);
+			} catch (IOException e) {
+				throw new GdxRuntimeException("Couldn't read level '" + entry.name + "' from " + file, e);
+			} finally {
+				StreamUtils.closeQuietly(in);
+			}
+			payload = ByteBuffer.wrap(bytes);
+		}
+		if (checksum(payload) != entry.checksum) {
+			throw new GdxRuntimeException("Level '" + entry.name + "' in " + file + " is corrupt");
+		}
+		return payload;
+	}
+
+	public LevelData read (Entry entry) {
+		return LevelFormat.read(readPayload(entry));
+	}
+
+	/**
+	 * @param payloads the remaining bytes of each are a compiled level in
+	 *        {@link LevelFormat}, copied as they are without reading the level
+	 * @return a pack of the levels, in the given order
+	 */
+	public static byte[] write (Array<String> names, Array<ByteBuffer> payloads) {
+		int size = HEADER_SIZE + payloads.size * ENTRY_SIZE;
+		for (ByteBuffer payload : payloads)
+			size += payload.remaining();
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+		buffer.putInt(MAGIC);
+		buffer.putInt(VERSION);
+		buffer.putInt(payloads.size);
+		int offset = HEADER_SIZE + payloads.size * ENTRY_SIZE;
+		for (int i = 0; i < payloads.size; i++) {
+			ByteBuffer payload = payloads.get(i);
+			LevelFormat.checkHeader(payload);
+			int start = payload.position();
+			byte[] name;
+			try {
+				name = names.get(i).getBytes("UTF-8");
+			} catch (IOException e) {
+				throw new GdxRuntimeException(e);
+			}
+			if (name.length > NAME_SIZE) throw new GdxRuntimeException("Level name too long: " + names.get(i));
+			// index entry
+			buffer.position(HEADER_SIZE + i * ENTRY_SIZE);
+			buffer.put(name);
+			buffer.position(HEADER_SIZE + i * ENTRY_SIZE + NAME_SIZE);
+			buffer.putInt(offset);
+			buffer.putInt(payload.remaining());
+			buffer.putInt(payload.getInt(start + LevelFormat.WIDTH_OFFSET));
+			buffer.putInt(payload.getInt(start + LevelFormat.HEIGHT_OFFSET));
+			buffer.putInt(payload.getInt(start + LevelFormat.ROCK_COUNT_OFFSET));
+			buffer.putInt(payload.getInt(start + LevelFormat.GOLD_COIN_COUNT_OFFSET));
+			buffer.putInt(payload.getInt(start + LevelFormat.FEATHER_COUNT_OFFSET));
+			buffer.putInt(checksum(payload));
+			// payload
+			buffer.position(offset);
+			buffer.put(payload.duplicate());
+			offset += payload.remaining();
+		}
+		return buffer.array();
+	}
+
+	/** 32-bit FNV-1a hash of the remaining bytes of the buffer, leaves its position untouched. */
+	public static int checksum (ByteBuffer buffer) {
+		int hash = 0x811c9dc5;
+		for (int i = buffer.position(), n = buffer.limit(); i < n; i++) {
+			hash ^= buffer.get(i) & 0xff;
+			hash *= 0x01000193;
+		}
+		return hash;
+	}
+}
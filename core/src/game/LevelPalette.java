@@ -0,0 +1,181 @@
+package game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import game.Level.BLOCK_TYPE;
+import util.Constants;
+
+/**
+ * Maps pixel colors of level images to the handlers that turn them into
+ * level objects. The palette is read from a data file listing RGBA colors
+ * and object type names; new object types only need a handler registered
+ * with {@link #registerType(String, PixelHandler)}, new kinds of items only
+ * {@link #registerItem(String)}, which keeps their pixels in the records of
+ * the type in {@link LevelData#items}. Lookup is a single primitive
+ * int-keyed hash lookup per pixel, whatever the palette size.
+ */
+public class LevelPalette {
+	public static final String TAG = LevelPalette.class.getName();
+
+	public interface PixelHandler {
+		/**
+		 * @param continued true if the pixel left of this one (in row-major
+		 *           order) has the same color
+		 */
+		void handle (LevelData data, int pixelX, int pixelY, boolean continued);
+	}
+
+	/** Adds each pixel as an item to the records of its type. */
+	public static class ItemHandler implements PixelHandler {
+		private final String type;
+
+		public ItemHandler (String type) {
+			this.type = type;
+		}
+
+		@Override
+		public void handle (LevelData data, int pixelX, int pixelY, boolean continued) {
+			IntArray records = data.getItems(type);
+			records.add(pixelX);
+			records.add(pixelY);
+		}
+	}
+
+	private static final ObjectMap<String, PixelHandler> types = new ObjectMap<String, PixelHandler>();
+	private static LevelPalette defaultPalette;
+
+	static {
+		registerType("empty", new PixelHandler() {
+			@Override
+			public void handle (LevelData data, int pixelX, int pixelY, boolean continued) {
+				// do nothing
+			}
+		});
+		registerType(LevelData.ROCK, new PixelHandler() {
+			@Override
+			public void handle (LevelData data, int pixelX, int pixelY, boolean continued) {
+				if (continued) {
+					data.rocks.incr(data.rocks.size - 1, 1);
+				} else {
+					data.rocks.add(pixelX);
+					data.rocks.add(pixelY);
+					data.rocks.add(1);
+				}
+			}
+		});
+		registerType("spawn", new PixelHandler() {
+			@Override
+			public void handle (LevelData data, int pixelX, int pixelY, boolean continued) {
+				data.spawnX = pixelX;
+				data.spawnY = pixelY;
+			}
+		});
+		registerItem(LevelData.FEATHER);
+		registerItem(LevelData.GOLD_COIN);
+		registerType("goal", new PixelHandler() {
+			@Override
+			public void handle (LevelData data, int pixelX, int pixelY, boolean continued) {
+				data.goalX = pixelX;
+				data.goalY = pixelY;
+			}
+		});
+	}
+
+	public static void registerType (String name, PixelHandler handler) {
+		types.put(name, handler);
+	}
+
+	/** Registers a type whose pixels are items, {@link Level} needs a factory for them, see {@link Level#registerItem}. */
+	public static void registerItem (String name) {
+		registerType(name, new ItemHandler(name));
+	}
+
+	private final IntMap<PixelHandler> handlers = new IntMap<PixelHandler>();
+
+	public void put (int color, String type) {
+		PixelHandler handler = types.get(type);
+		if (handler == null) throw new GdxRuntimeException("Unknown level object type: " + type);
+		handlers.put(color, handler);
+	}
+
+	/** @return the handler for the RGBA color, null if the color is not in the palette */
+	public PixelHandler get (int color) {
+		return handlers.get(color);
+	}
+
+	/** @return true if the color makes rocks, whose runs of pixels are joined into one rock */
+	public boolean isRock (int color) {
+		PixelHandler handler = handlers.get(color);
+		return handler != null && handler == types.get(LevelData.ROCK);
+	}
+
+	/**
+	 * Reads a palette file: a JSON array of objects with an RGBA "color" in
+	 * hex and a "type" name.
+	 */
+	public static LevelPalette load (FileHandle file) {
+		LevelPalette palette = new LevelPalette();
+		JsonValue root = new JsonReader().parse(file);
+		for (JsonValue entry = root.child; entry != null; entry = entry.next) {
+			int color = (int)Long.parseLong(entry.getString("color"), 16);
+			palette.put(color, entry.getString("type"));
+		}
+		return palette;
+	}
+
+	/** @return the palette of {@link Constants#LEVEL_PALETTE}, or the built-in colors if there is none */
+	public static synchronized LevelPalette getDefault () {
+		if (defaultPalette == null) {
+			if (Gdx.files != null && Gdx.files.internal(Constants.LEVEL_PALETTE).exists()) {
+				defaultPalette = load(Gdx.files.internal(Constants.LEVEL_PALETTE));
+			} else {
+				defaultPalette = createBuiltIn();
+			}
+		}
+		return defaultPalette;
+	}
+
+	/** @return a palette of the colors of {@link BLOCK_TYPE} */
+	public static LevelPalette createBuiltIn () {
+		LevelPalette palette = new LevelPalette();
+		palette.put(BLOCK_TYPE.EMPTY.getColor(), "empty");
+		palette.put(BLOCK_TYPE.ROCK.getColor(), LevelData.ROCK);
+		palette.put(BLOCK_TYPE.PLAYER_SPAWNPOINT.getColor(), "spawn");
+		palette.put(BLOCK_TYPE.ITEM_FEATHER.getColor(), LevelData.FEATHER);
+		palette.put(BLOCK_TYPE.ITEM_GOLD_COIN.getColor(), LevelData.GOLD_COIN);
+		palette.put(BLOCK_TYPE.GOAL.getColor(), "goal");
+		return palette;
+	}
+
+	/**
+	 * Logs one line per unknown color with the number of pixels and the
+	 * first pixel that had it, to the standard error stream if there is no
+	 * application, like in the level tools.
+	 * @param first pixel index (y * width + x) of the first occurrence per color
+	 */
+	public static void reportUnknown (IntIntMap counts, IntIntMap first, int width) {
+		for (IntIntMap.Entry entry : counts.entries()) {
+			int color = entry.key;
+			int index = first.get(color, 0);
+			int r = 0xff & (color >>> 24); // red color channel
+			int g = 0xff & (color >>> 16); // green color channel
+			int b = 0xff & (color >>> 8); // blue color channel
+			int a = 0xff & color; // alpha channel
+			String message = "Unknown object color r<" + r + "> g<" + g + "> b<" + b + "> a<" + a + ">: " + entry.value
+				+ " pixels, first at x<" + index % width + "> y<" + index / width + ">";
+			if (Gdx.app != null) {
+				Gdx.app.error(TAG, message);
+			} else {
+				System.err.println(TAG + ": " + message);
+			}
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package game;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.badlogic.gdx.Application.ApplicationType;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import util.DaemonThreadFactory;
+import util.RandomStreams;
+
+/**
+ * Loads the next level of the campaign on a worker thread while the
+ * current one is played, so switching levels only swaps a reference.
+ */
+public class LevelPreloader {
+	public static final String TAG = LevelPreloader.class.getName();
+
+	private static ExecutorService executor;
+
+	private String pendingFilename;
+	private Future<Level> pending;
+
+	/** Starts loading the level, dropping any level preloaded before. */
+	public void preload (final String filename, final RandomStreams random) {
+		cancel();
+		pendingFilename = filename;
+		// threads are not available in the browser, load on take() instead
+		if (Gdx.app.getType() == ApplicationType.WebGL) return;
+		pending = getExecutor().submit(new Callable<Level>() {
+			@Override
+			public Level call () {
+				long start = TimeUtils.nanoTime();
+				Level level = new Level(filename, random);
+				Gdx.app.log(TAG, "level '" + filename + "' preloaded in " + TimeUtils.nanosToMillis(TimeUtils.timeSinceNanos(start)) + " ms");
+				return level;
+			}
+		});
+	}
+
+	/**
+	 * @return the preloaded level, waiting for it if it is not ready yet. The
+	 *         level is loaded right away if it was not preloaded.
+	 */
+	public Level take (String filename, RandomStreams random) {
+		if (!filename.equals(pendingFilename) || pending == null) {
+			cancel();
+			return new Level(filename, random);
+		}
+		long start = TimeUtils.nanoTime();
+		try {
+			Level level = pending.get();
+			Gdx.app.log(TAG, "level '" + filename + "' taken after waiting " + TimeUtils.nanosToMillis(TimeUtils.timeSinceNanos(start)) + " ms");
+			return level;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new GdxRuntimeException("Interrupted while loading level '" + filename + "'", e);
+		} catch (ExecutionException e) {
+			throw new GdxRuntimeException("Couldn't load level '" + filename + "'", e.getCause());
+		} finally {
+			pending = null;
+			pendingFilename = null;
+		}
+	}
+
+	/** Drops the preloaded level, or stops waiting for it if it is still loading. */
+	public void cancel () {
+		if (pending != null && !pending.cancel(true)) {
+			// loaded already, free what it holds
+			try {
+				pending.get().dispose();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				// nothing was loaded
+			}
+		}
+		pending = null;
+		pendingFilename = null;
+	}
+
+	private static synchronized ExecutorService getExecutor () {
+		if (executor == null) {
+			executor = Executors.newSingleThreadExecutor(new DaemonThreadFactory("LevelPreloader", Thread.MIN_PRIORITY));
+		}
+		return executor;
+	}
+}
@@ -0,0 +1,208 @@
+package game;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.badlogic.gdx.Application.ApplicationType;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+
+import util.Constants;
+import util.DaemonThreadFactory;
+
+/**
+ * Renders small previews of the levels on a worker thread and caches them
+ * as PNG files in a cache folder of the user, named after a hash of the
+ * level content.
+ * A cached thumbnail is only decoded, the level is not read at all. The
+ * textures are created on the render thread, one per runnable, and handed
+ * to the {@link Listener} as they become ready.
+ */
+public class LevelThumbnails implements Disposable {
+	public static final String TAG = LevelThumbnails.class.getName();
+
+	public static final int WIDTH = 192;
+	public static final int HEIGHT = 48;
+	// in the home folder on desktop, where the local folder is the assets folder
+	private static final String DESKTOP_CACHE_DIR = ".canyonbunny/thumbnails/";
+	private static final String CACHE_DIR = "thumbnails/";
+
+	private static final int COLOR_SKY = 0x6495edff;
+	private static final int COLOR_ROCK = 0x8b5a2bff;
+	private static final int COLOR_GOLD_COIN = 0xffd700ff;
+	private static final int COLOR_FEATHER = 0xff00ffff;
+	private static final int COLOR_SPAWN = 0xffffffff;
+	private static final int COLOR_GOAL = 0xff0000ff;
+
+	private static ExecutorService executor;
+
+	public interface Listener {
+		/** Called on the render thread. The texture is owned by the thumbnails. */
+		void thumbnailReady (int levelIndex, Texture texture);
+	}
+
+	private final Listener listener;
+	private final Array<Texture> textures = new Array<Texture>();
+	private volatile boolean disposed;
+
+	public LevelThumbnails (Listener listener) {
+		this.listener = listener;
+	}
+
+	/** Starts loading or rendering the thumbnails of all levels of {@link Constants#LEVELS}. */
+	public void load () {
+		if (Gdx.app.getType() == ApplicationType.WebGL) {
+			// threads are not available in the browser, render one per frame
+			// instead, each runnable posts the next one
+			Gdx.app.postRunnable(new Runnable() {
+				private int levelIndex;
+
+				@Override
+				public void run () {
+					if (disposed) return;
+					createThumbnail(levelIndex);
+					if (++levelIndex < Constants.LEVELS.length) Gdx.app.postRunnable(this);
+				}
+			});
+			return;
+		}
+		for (int i = 0; i < Constants.LEVELS.length; i++) {
+			final int levelIndex = i;
+			getExecutor().execute(new Runnable() {
+				@Override
+				public void run () {
+					if (disposed) return;
+					createThumbnail(levelIndex);
+				}
+			});
+		}
+	}
+
+	private void createThumbnail (int levelIndex) {
+		try {
+			publish(levelIndex, getThumbnail(Constants.LEVELS[levelIndex]));
+		} catch (Exception e) {
+			Gdx.app.error(TAG, "Couldn't create thumbnail of '" + Constants.LEVELS[levelIndex] + "'", e);
+		}
+	}
+
+	private void publish (final int levelIndex, final Pixmap pixmap) {
+		Gdx.app.postRunnable(new Runnable() {
+			@Override
+			public void run () {
+				if (disposed) {
+					pixmap.dispose();
+					return;
+				}
+				Texture texture = new Texture(pixmap);
+				pixmap.dispose();
+				textures.add(texture);
+				listener.thumbnailReady(levelIndex, texture);
+			}
+		});
+	}
+
+	private static Pixmap getThumbnail (String filename) {
+		String name = LevelPack.getName(filename);
+		FileHandle cacheDir = getCacheDir();
+		FileHandle cached = null;
+		if (cacheDir != null) {
+			cached = cacheDir.child(name + "-" + Integer.toHexString(getContentHash(filename)) + ".png");
+			if (cached.exists()) return new Pixmap(cached);
+		}
+		Pixmap pixmap = render(Level.load(filename));
+		if (cacheDir != null) {
+			// drop thumbnails of older versions of the level
+			for (FileHandle old : cacheDir.list()) {
+				String oldName = old.nameWithoutExtension();
+				if (oldName.lastIndexOf('-') > 0 && oldName.substring(0, oldName.lastIndexOf('-')).equals(name)) old.delete();
+			}
+			PixmapIO.writePNG(cached, pixmap);
+		}
+		Gdx.app.debug(TAG, "thumbnail of '" + filename + "' rendered");
+		return pixmap;
+	}
+
+	/**
+	 * @return the folder of the cached thumbnails, null if there is no
+	 *         storage to cache them
+	 */
+	private static FileHandle getCacheDir () {
+		ApplicationType type = Gdx.app.getType();
+		if (type == ApplicationType.Desktop || type == ApplicationType.HeadlessDesktop) {
+			return Gdx.files.isExternalStorageAvailable() ? Gdx.files.external(DESKTOP_CACHE_DIR) : null;
+		}
+		return Gdx.files.isLocalStorageAvailable() ? Gdx.files.local(CACHE_DIR) : null;
+	}
+
+	/**
+	 * @return the checksum of the level in the level pack, or the hash of
+	 *         the file the level is loaded from
+	 */
+	private static int getContentHash (String filename) {
+		LevelPack pack = LevelPack.getDefault();
+		LevelPack.Entry entry = pack != null ? pack.getEntry(LevelPack.getName(filename)) : null;
+		if (entry != null) return entry.checksum;
+		FileHandle file = Gdx.files.internal(LevelFormat.getCompiledFileName(filename));
+		if (!file.exists()) file = Gdx.files.internal(filename);
+		return LevelPack.checksum(ByteBuffer.wrap(file.readBytes()));
+	}
+
+	/** @return an RGBA8888 image of the level scaled to the thumbnail size */
+	public static Pixmap render (LevelData data) {
+		Pixmap pixmap = new Pixmap(WIDTH, HEIGHT, Format.RGBA8888);
+		pixmap.setColor(COLOR_SKY);
+		pixmap.fill();
+		float scaleX = (float)WIDTH / data.width;
+		float scaleY = (float)HEIGHT / data.height;
+		int itemSize = Math.max(1, (int)Math.min(scaleX, scaleY));
+		// rocks
+		pixmap.setColor(COLOR_ROCK);
+		for (int i = 0; i < data.rocks.size; i += 3) {
+			int x = (int)(data.rocks.get(i) * scaleX);
+			int y = (int)(data.rocks.get(i + 1) * scaleY);
+			int width = Math.max(1, (int)((data.rocks.get(i) + data.rocks.get(i + 2)) * scaleX) - x);
+			pixmap.fillRectangle(x, y, width, HEIGHT - y);
+		}
+		// items
+		pixmap.setColor(COLOR_GOLD_COIN);
+		for (int i = 0; i < data.goldcoins.size; i += 2)
+			pixmap.fillRectangle((int)(data.goldcoins.get(i) * scaleX), (int)(data.goldcoins.get(i + 1) * scaleY), itemSize, itemSize);
+		pixmap.setColor(COLOR_FEATHER);
+		for (int i = 0; i < data.feathers.size; i += 2)
+			pixmap.fillRectangle((int)(data.feathers.get(i) * scaleX), (int)(data.feathers.get(i + 1) * scaleY), itemSize, itemSize);
+		// start and goal
+		if (data.spawnX >= 0) {
+			pixmap.setColor(COLOR_SPAWN);
+			pixmap.fillRectangle((int)(data.spawnX * scaleX), (int)(data.spawnY * scaleY), itemSize, 2 * itemSize);
+		}
+		if (data.goalX >= 0) {
+			pixmap.setColor(COLOR_GOAL);
+			pixmap.fillRectangle((int)(data.goalX * scaleX), (int)(data.goalY * scaleY), itemSize, 2 * itemSize);
+		}
+		return pixmap;
+	}
+
+	/** Disposes the textures and drops the thumbnails still being created. */
+	@Override
+	public void dispose () {
+		disposed = true;
+		for (Texture texture : textures)
+			texture.dispose();
+		textures.clear();
+	}
+
+	private static synchronized ExecutorService getExecutor () {
+		if (executor == null) {
+			executor = Executors.newSingleThreadExecutor(new DaemonThreadFactory("LevelThumbnails", Thread.MIN_PRIORITY));
+		}
+		return executor;
+	}
+}
@@ -1,18 +1,25 @@
 package game;
 
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Application.ApplicationType;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input.Keys;
 import com.badlogic.gdx.Input.Peripheral;
 import com.badlogic.gdx.InputAdapter;
 import com.badlogic.gdx.math.Interpolation;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.TimeUtils;
 
+import components.CollectibleComponent;
+import components.PositionComponent;
+import components.SpriteComponent;
 import objects.BunnyHead;
-import objects.BunnyHead.JUMP_STATE;
-import objects.Feather;
-import objects.GoldCoin;
-import objects.Rock;
+import physics.PhysicsBackend;
 import screens.DirectedGame;
 import screens.MenuScreen;
 import screens.transitions.ScreenTransition;
@@ -20,125 +27,363 @@ import screens.transitions.ScreenTransitionSlice;
 import screens.transitions.ScreenTransitionSlide;
 import util.AudioManager;
 import util.Constants;
+import util.RandomStreams;
+import util.TimingWheel;
 
 public class WorldController extends InputAdapter {
 	private static final String TAG = WorldController.class.getName();
 	
-	private DirectedGame game;
+	/**
+	 * What the world needs from the game around it, so it can also run
+	 * without screens, sound or input devices.
+	 */
+	public interface Listener {
+		/** The game is over, the last level is done or the player quits. */
+		void backToMenu ();
+		/** The player reached the goal of a level. */
+		void goalReached ();
+		/** The player fell into the water and lost a life. */
+		void lifeLost ();
+		/** The bunny took off, from a rock or in the air with the feather power-up. */
+		void jumped (boolean withFeather);
+		/** Items of one kind were collected in the same step. */
+		void collected (CollectibleComponent.Kind kind, int count);
+		/** @return whether the device can be tilted to run, asked when a game that is not replayed starts */
+		boolean isAccelerometerAvailable ();
+	}
+	
+	private final Listener listener;
+	// random numbers of this game, the same seed plays the same game
+	private final RandomStreams random;
 	
-	public CameraHelper cameraHelper;
+	public final CameraHelper cameraHelper = new CameraHelper();
 	public Level level;
+	public int levelIndex;
+	private int startLevelIndex;
+	private LevelPreloader levelPreloader = new LevelPreloader();
 	public int lives;
 	public float livesVisual;
 	public int score;
 	public float scoreVisual;
-	private float timeLeftGameOverDelay;
 	private boolean goalReached;
 	private boolean accelerometerAvailable;
 	
+	// input of the current step, read from the devices or from a replay
+	private final InputState input = new InputState();
+	// keys released since the last step
+	private int releasedButtons;
+	private InputRecording recording;
+	private InputRecording replay;
+	private boolean replayFinished;
+	// simulated time in seconds
+	private float time;
+	
+	// countdowns of the game, advanced with the simulated time
+	private static final int TIMER_SLOTS = 256;
+	private final TimingWheel timers = new TimingWheel(TIMER_SLOTS, Constants.SIMULATION_STEP);
+	private final TimingWheel.Timer featherPowerupTimer = timers.obtain(new TimingWheel.Task() {
+		@Override
+		public void run (TimingWheel.Timer timer) {
+			level.bunnyHead.setFeatherPowerup(false);
+		}
+	});
+	private final TimingWheel.Timer gameOverTimer = timers.obtain(new TimingWheel.Task() {
+		@Override
+		public void run (TimingWheel.Timer timer) {
+			backToMenu();
+		}
+	});
+	private final TimingWheel.Timer pickupLogTimer = timers.obtain(new TimingWheel.Task() {
+		@Override
+		public void run (TimingWheel.Timer timer) {
+			logPickups();
+		}
+	});
+	
 	// Rectangles for collision detection
 	private Rectangle r1 = new Rectangle();
 	private Rectangle r2 = new Rectangle();
+	
+	// pickups of one step, handled together after the collision tests
+	private static final int MAX_PICKUPS_PER_STEP = 64;
+	// the pickups are logged together at most this often, in seconds
+	private static final float PICKUP_LOG_INTERVAL = 1;
+	// pickups not logged yet
+	private int unloggedGoldCoins, unloggedFeathers;
+	private final CollisionEventQueue pickups = new CollisionEventQueue(MAX_PICKUPS_PER_STEP);
+	private final PhysicsBackend.Listener pickupListener = new PhysicsBackend.Listener() {
+		@Override
+		public void itemTouched (Entity item) {
+			addPickup(item);
+		}
+	};
+	private final ComponentMapper<CollectibleComponent> collectibles = ComponentMapper.getFor(CollectibleComponent.class);
+	private final ComponentMapper<PositionComponent> positions = ComponentMapper.getFor(PositionComponent.class);
+	private final ComponentMapper<SpriteComponent> sprites = ComponentMapper.getFor(SpriteComponent.class);
 		
 	public WorldController (DirectedGame game) {
-		this.game = game;
+		this(game, 0);
+	}
+	
+	public WorldController (DirectedGame game, int startLevelIndex) {
+		this(new ScreenListener(game), startLevelIndex);
+	}
+	
+	public WorldController (Listener listener, int startLevelIndex) {
+		this.listener = listener;
+		this.startLevelIndex = startLevelIndex;
+		levelIndex = startLevelIndex;
+		accelerometerAvailable = listener.isAccelerometerAvailable();
+		// a new game, new random numbers
+		random = new RandomStreams(TimeUtils.millis());
+		if (InputRecording.recordFile != null) recording = new InputRecording(random.getSeed(), startLevelIndex);
+		init();
+	}
+	
+	/** Replays the recorded game, ignoring the input devices. */
+	public WorldController (DirectedGame game, InputRecording replay) {
+		this(new ScreenListener(game), replay);
+	}
+	
+	/** Replays the recorded game, the input devices are not used at all. */
+	public WorldController (Listener listener, InputRecording replay) {
+		this.listener = listener;
+		this.replay = replay;
+		startLevelIndex = replay.levelIndex;
+		levelIndex = startLevelIndex;
+		replay.rewind();
+		random = new RandomStreams(replay.seed);
 		init();
 	}
+	
+	/** @return whether all steps of the replay have been run */
+	public boolean isReplayFinished () {
+		return replayFinished;
+	}
+	
+	/** @return the simulated time in milliseconds */
+	public long getTimeMillis () {
+		return (long)(time * 1000);
+	}
+	
+	/** @return the seconds the feather power-up of the player still lasts, 0 without it */
+	public float getTimeLeftFeatherPowerup () {
+		return timers.getTimeLeft(featherPowerupTimer);
+	}
 		
 	public void init () {
-		accelerometerAvailable = Gdx.input.isPeripheralAvailable(Peripheral.Accelerometer);
-		cameraHelper = new CameraHelper();
+		cameraHelper.reset();
 		lives = Constants.LIVES_START;
 		livesVisual = lives;
-		timeLeftGameOverDelay = 0;
+		timers.cancel(gameOverTimer);
 		goalReached = false;
+		if (levelIndex != startLevelIndex) {
+			// start the campaign from the selected level again
+			levelIndex = startLevelIndex;
+			if (level != null) level.dispose();
+			level = null;
+		}
 		initLevel();
 	}
 	
 	public void initLevel() {
 		score = 0;
 		scoreVisual = score;
-		level = new Level(Constants.LEVEL_01);
+		timers.cancel(featherPowerupTimer);
+		// parse the level once, restore it on every life lost or reset
+		if (level == null) {
+			level = new Level(Constants.LEVELS[levelIndex], random);
+			preloadNextLevel();
+		} else {
+			level.reset();
+		}
 		cameraHelper.setTarget(level.bunnyHead);
 	}
 	
-	private void backToMenu () {
-		// switch to menu screen
-		ScreenTransition transition = ScreenTransitionSlide.init(0.75f, ScreenTransitionSlide.DOWN, false, Interpolation.bounceOut);
-		game.setScreen(new MenuScreen(game), transition);
+	private boolean hasNextLevel () {
+		return levelIndex + 1 < Constants.LEVELS.length;
 	}
-
-	private void onCollisionBunnyHeadWithRock (Rock rock) {
+	
+	private void preloadNextLevel () {
+		if (hasNextLevel()) levelPreloader.preload(Constants.LEVELS[levelIndex + 1], random);
+	}
+	
+	private void nextLevel () {
+		levelIndex++;
+		level.dispose();
+		level = levelPreloader.take(Constants.LEVELS[levelIndex], random);
+		timers.cancel(featherPowerupTimer);
+		goalReached = false;
+		cameraHelper.setTarget(level.bunnyHead);
+		preloadNextLevel();
+		Gdx.app.debug(TAG, "Level " + (levelIndex + 1) + " started");
+	}
+	
+	/** Applies a level or particle effect that was changed while the game runs. */
+	public void assetReloaded (String fileName) {
+		if (fileName.equals(Constants.LEVELS[levelIndex])) {
+			reloadLevel();
+		} else if (hasNextLevel() && fileName.equals(Constants.LEVELS[levelIndex + 1])) {
+			preloadNextLevel();
+		} else if (fileName.endsWith(".pfx") && level.bunnyHead != null) {
+			level.bunnyHead.reloadParticles();
+		}
+	}
+	
+	private void reloadLevel () {
+		Level reloaded = new Level(Constants.LEVELS[levelIndex], random);
+		// keep the player where it is, unless the level got too short for it
 		BunnyHead bunnyHead = level.bunnyHead;
-		float heightDifference = Math.abs(bunnyHead.position.y - ( rock.position.y + rock.bounds.height));
-		if(heightDifference > 0.25f) {
-			boolean hitRightEdge = bunnyHead.position.x > rock.position.x + rock.bounds.width / 2.0f;
-			if (hitRightEdge) {
-				bunnyHead.position.x = rock.position.x + rock.bounds.width;
+		if (bunnyHead != null && reloaded.bunnyHead != null && bunnyHead.position.x < reloaded.getWidth()) {
+			reloaded.bunnyHead = bunnyHead;
+			reloaded.updateActiveChunks(bunnyHead.position.x);
+		} else {
+			timers.cancel(featherPowerupTimer);
+		}
+		level.dispose();
+		level = reloaded;
+		cameraHelper.setTarget(level.bunnyHead);
+		Gdx.app.debug(TAG, "Level " + (levelIndex + 1) + " reloaded");
+	}
+	
+	public void dispose () {
+		// drop the preloaded level when the player quits
+		levelPreloader.cancel();
+		level.dispose();
+		if (recording != null && recording.getSteps() > 0) {
+			recording.stateHash = getStateHash();
+			recording.write(InputRecording.recordFile);
+			Gdx.app.log(TAG, "Recorded " + recording.getSteps() + " steps to " + InputRecording.recordFile);
+		}
+	}
+	
+	private void backToMenu () {
+		listener.backToMenu();
+	}
+	
+	/** Plays the world on the screens of the game. */
+	private static class ScreenListener implements Listener {
+		// several pickups in the same step play their sound once, louder the more
+		// there are; one pickup plays it at this volume to leave room for more
+		private static final float PICKUP_VOLUME_BASE = 0.6f;
+		
+		private final DirectedGame game;
+		
+		ScreenListener (DirectedGame game) {
+			this.game = game;
+		}
+		
+		@Override
+		public void backToMenu () {
+			// switch to menu screen
+			ScreenTransition transition = ScreenTransitionSlide.init(0.75f, ScreenTransitionSlide.DOWN, false, Interpolation.bounceOut);
+			game.setScreen(new MenuScreen(game), transition);
+		}
+		
+		@Override
+		public void goalReached () {
+			Gdx.input.vibrate(500);
+		}
+		
+		@Override
+		public void lifeLost () {
+			AudioManager.instance.play(Assets.instance.sounds.liveLost);
+		}
+		
+		@Override
+		public void jumped (boolean withFeather) {
+			if (withFeather) {
+				AudioManager.instance.play(Assets.instance.sounds.jumpWithFeather, 1, 1.0f + MathUtils.random(0.1f));
 			} else {
-				bunnyHead.position.x = rock.position.x - bunnyHead.bounds.width;
+				AudioManager.instance.play(Assets.instance.sounds.jump);
+			}
+		}
+		
+		@Override
+		public void collected (CollectibleComponent.Kind kind, int count) {
+			switch (kind) {
+			case GOLD_COIN:
+				AudioManager.instance.play(Assets.instance.sounds.pickupCoin, pickupVolume(count));
+				break;
+			case FEATHER:
+				AudioManager.instance.play(Assets.instance.sounds.pickupFeather, pickupVolume(count));
+				break;
 			}
-			return;
 		}
-		switch (bunnyHead.jumpState) {
-		case GROUNDED:
-			break;
-		case FALLING:
-		case JUMP_FALLING:
-			bunnyHead.position.y = rock.position.y + bunnyHead.bounds.height + bunnyHead.origin.y;
-			bunnyHead.jumpState = JUMP_STATE.GROUNDED;
-			break;
-		case JUMP_RISING:
-			bunnyHead.position.y = rock.position.y + bunnyHead.bounds.height + bunnyHead.origin.y;
-			break;
+		
+		/** @return the base volume for one pickup, closer to full volume with each further one */
+		private static float pickupVolume (int count) {
+			return 1 - (1 - PICKUP_VOLUME_BASE) / count;
 		}
+		
+		@Override
+		public boolean isAccelerometerAvailable () {
+			return Gdx.input.isPeripheralAvailable(Peripheral.Accelerometer);
+		}
+	}
+
+	private void addPickup (Entity item) {
+		if (pickups.isFull()) processPickups();
+		pickups.add(item);
 	}
 	
-	private void onCollisionBunnyWithGoldCoin (GoldCoin goldcoin) {
-		goldcoin.collected = true;
-		AudioManager.instance.play(Assets.instance.sounds.pickupCoin);
-		score += goldcoin.getScore();
-		Gdx.app.log(TAG, "Gold coin collected");
+	/**
+	 * Collects the pickups of this step. Pickups of the same kind change the
+	 * score and tell the listener once, with how many there are. They are
+	 * logged with the others of the next {@link #PICKUP_LOG_INTERVAL}.
+	 */
+	private void processPickups () {
+		int goldCoins = 0, feathers = 0, points = 0;
+		for (CollisionEventQueue.Event event = pickups.poll(); event != null; event = pickups.poll()) {
+			CollectibleComponent collectible = collectibles.get(event.item);
+			switch (collectible.kind) {
+			case GOLD_COIN:
+				goldCoins++;
+				break;
+			case FEATHER:
+				feathers++;
+				break;
+			}
+			points += collectible.score;
+			level.collect(event.item);
+		}
+		score += points;
+		if (goldCoins > 0) listener.collected(CollectibleComponent.Kind.GOLD_COIN, goldCoins);
+		if (feathers > 0) {
+			listener.collected(CollectibleComponent.Kind.FEATHER, feathers);
+			level.bunnyHead.setFeatherPowerup(true);
+			timers.schedule(featherPowerupTimer, Constants.ITEM_FEATHER_POWERUP_DURATION);
+		}
+		unloggedGoldCoins += goldCoins;
+		unloggedFeathers += feathers;
+		if (goldCoins + feathers > 0 && !pickupLogTimer.isScheduled()) timers.schedule(pickupLogTimer, PICKUP_LOG_INTERVAL);
 	}
 	
-	private void onCollisionBunnyWithFeather (Feather feather) {
-		feather.collected = true;
-		AudioManager.instance.play(Assets.instance.sounds.pickupFeather);
-		score += feather.getScore();
-		level.bunnyHead.setFeatherPowerup(true);
-		Gdx.app.log(TAG, "Feather collected");
+	private void logPickups () {
+		// building the message allocates, skip it when nothing is logged
+		if (Gdx.app.getLogLevel() >= Application.LOG_INFO) {
+			if (unloggedGoldCoins > 0) Gdx.app.log(TAG, unloggedGoldCoins + " gold coin(s) collected");
+			if (unloggedFeathers > 0) Gdx.app.log(TAG, unloggedFeathers + " feather(s) collected");
+		}
+		unloggedGoldCoins = 0;
+		unloggedFeathers = 0;
 	}
 	
 	private void onCollisionBunnyWithGoal () {
 		goalReached = true;
-		Gdx.input.vibrate(500);
-		backToMenu();
+		listener.goalReached();
+		if (hasNextLevel()) {
+			nextLevel();
+		} else {
+			backToMenu();
+		}
 	}
 	
-	private void testCollisions () {
+	private void testCollisions (float deltaTime) {
+		level.physics.step(level.bunnyHead, deltaTime, pickupListener);
+		// before the goal, which may load the next level
+		processPickups();
 		r1.set(level.bunnyHead.position.x, level.bunnyHead.position.y, level.bunnyHead.bounds.width, level.bunnyHead.bounds.height);
-		// Test collision: Bunny Head <-> Rocks
-		for (Rock rock : level.rocks) {
-			r2.set(rock.position.x, rock.position.y, rock.bounds.width, rock.bounds.height);
-			if (!r1.overlaps(r2)) continue;
-			onCollisionBunnyHeadWithRock(rock);
-		}
-		// Test collision: Bunny Head <-> Gold Coins
-		for (GoldCoin goldcoin : level.goldcoins) {
-			if (goldcoin.collected) continue;
-			r2.set(goldcoin.position.x, goldcoin.position.y, goldcoin.bounds.width, goldcoin.bounds.height);
-			if(!r1.overlaps(r2)) continue;
-			onCollisionBunnyWithGoldCoin(goldcoin);
-			break;
-		}
-		// Test collision: Bunny Head <-> Feathers
-		for (Feather feather : level.feathers) {
-			if (feather.collected) continue;
-			r2.set(feather.position.x, feather.position.y, feather.bounds.width, feather.bounds.height);
-			if(!r1.overlaps(r2)) continue;
-			onCollisionBunnyWithFeather(feather);
-			break;
-		}
 		if (!goalReached) {
 			r2.set(level.goal.bounds);
 			r2.x += level.goal.position.x;
@@ -156,21 +401,30 @@ public class WorldController extends InputAdapter {
 	}
 	
 	public void update (float deltaTime){
-		handleDebugInput(deltaTime);
-		if (isGameOver()) {
-			timeLeftGameOverDelay -= deltaTime;
-			if (timeLeftGameOverDelay < 0) backToMenu();
+		if (replayFinished) return;
+		if (replay != null) {
+			if (!replay.next(input)) {
+				finishReplay();
+				return;
+			}
 		} else {
-			handleInputGame(deltaTime);
+			readInput();
+			if (recording != null) recording.add(input);
 		}
+		time += deltaTime;
+		handleDebugInput(deltaTime);
+		timers.update(deltaTime);
+		if (!isGameOver()) handleInputGame(deltaTime);
+		updateSimulationWindow();
 		level.update(deltaTime);
-		testCollisions();
+		testCollisions(deltaTime);
 		cameraHelper.update(deltaTime);
+		level.updateActiveChunks(cameraHelper.getPosition().x);
 		if (!isGameOver() && isPlayerInWater()) {
-			AudioManager.instance.play(Assets.instance.sounds.liveLost);
+			listener.lifeLost();
 			lives--;
 			if (isGameOver()) {
-				timeLeftGameOverDelay = Constants.TIME_DELAY_GAME_OVER;
+				timers.schedule(gameOverTimer, Constants.TIME_DELAY_GAME_OVER);
 			} else {
 				initLevel();
 			}
@@ -183,20 +437,111 @@ public class WorldController extends InputAdapter {
 			
 	}
 	
+	/** Lets the level update only what the world camera can see. */
+	private void updateSimulationWindow () {
+		// the world camera keeps its height; the width is that of the widest
+		// common screens, so the game does not depend on the screen size
+		float height = Constants.VIEWPORT_HEIGHT * cameraHelper.getZoom();
+		float width = height * Constants.SIMULATION_ASPECT_RATIO;
+		Vector2 center = cameraHelper.getPosition();
+		level.setSimulationWindow(center.x - width / 2, center.y - height / 2, width, height);
+	}
+	
+	/** Reads the input of this step from the input devices. */
+	private void readInput () {
+		input.clear();
+		int buttons = releasedButtons;
+		releasedButtons = 0;
+		if (Gdx.input.isKeyPressed(Keys.LEFT)) buttons |= InputState.LEFT;
+		if (Gdx.input.isKeyPressed(Keys.RIGHT)) buttons |= InputState.RIGHT;
+		if (Gdx.input.isKeyPressed(Keys.SPACE) || Gdx.input.isTouched()) buttons |= InputState.JUMP;
+		if (accelerometerAvailable) {
+			// Normalize accelerometer values from [-10, 10] to [-1, 1]
+			buttons |= InputState.TILT;
+			input.setTilt(Gdx.input.getAccelerometerY() / 10.0f);
+		} else if (Gdx.app.getType() != ApplicationType.Desktop) {
+			buttons |= InputState.FORWARD;
+		}
+		if (Gdx.app.getType() == ApplicationType.Desktop) {
+			if (Gdx.input.isKeyPressed(Keys.UP)) buttons |= InputState.UP;
+			if (Gdx.input.isKeyPressed(Keys.DOWN)) buttons |= InputState.DOWN;
+			if (Gdx.input.isKeyPressed(Keys.SHIFT_LEFT)) buttons |= InputState.FAST;
+			if (Gdx.input.isKeyPressed(Keys.O)) buttons |= InputState.ZOOM_OUT;
+			if (Gdx.input.isKeyPressed(Keys.P)) buttons |= InputState.ZOOM_IN;
+			if (Gdx.input.isKeyPressed(Keys.L)) buttons |= InputState.ZOOM_RESET;
+			if (Gdx.input.isKeyPressed(Keys.BACKSPACE)) buttons |= InputState.CAMERA_RESET;
+		}
+		input.buttons = buttons;
+	}
+	
+	private void finishReplay () {
+		replayFinished = true;
+		long stateHash = getStateHash();
+		if (stateHash == replay.stateHash) {
+			Gdx.app.log(TAG, "Replayed " + replay.getSteps() + " steps, the game state matches the recording");
+		} else {
+			Gdx.app.error(TAG, "Replayed " + replay.getSteps() + " steps, the game state differs from the recording");
+		}
+	}
+	
+	/** @return a hash of the game state, the same states give the same hash */
+	public long getStateHash () {
+		long hash = 0xcbf29ce484222325L;
+		hash = hash(hash, levelIndex);
+		hash = hash(hash, lives);
+		hash = hash(hash, score);
+		hash = hash(hash, goalReached ? 1 : 0);
+		hash = hash(hash, cameraHelper.getPosition().x);
+		hash = hash(hash, cameraHelper.getPosition().y);
+		hash = hash(hash, cameraHelper.getZoom());
+		BunnyHead bunnyHead = level.bunnyHead;
+		hash = hash(hash, bunnyHead.position.x);
+		hash = hash(hash, bunnyHead.position.y);
+		hash = hash(hash, bunnyHead.velocity.x);
+		hash = hash(hash, bunnyHead.velocity.y);
+		hash = hash(hash, bunnyHead.jumpState.ordinal());
+		hash = hash(hash, getTimeLeftFeatherPowerup());
+		ImmutableArray<Entity> rocks = level.getRocks();
+		for (int i = 0; i < rocks.size(); i++) {
+			Vector2 position = positions.get(rocks.get(i)).position;
+			hash = hash(hash, position.x);
+			hash = hash(hash, position.y);
+		}
+		// only the items not collected yet
+		ImmutableArray<Entity> items = level.getItems();
+		int goldCoins = 0;
+		for (int i = 0; i < items.size(); i++)
+			if (collectibles.get(items.get(i)).kind == CollectibleComponent.Kind.GOLD_COIN) goldCoins++;
+		hash = hash(hash, goldCoins);
+		for (int i = 0; i < items.size(); i++) {
+			Entity item = items.get(i);
+			if (collectibles.get(item).kind == CollectibleComponent.Kind.GOLD_COIN) hash = hash(hash, sprites.get(item).scale.x);
+		}
+		hash = hash(hash, items.size() - goldCoins);
+		return hash;
+	}
+	
+	private static long hash (long hash, float value) {
+		return hash(hash, Float.floatToIntBits(value));
+	}
+	
+	private static long hash (long hash, int value) {
+		return (hash ^ value) * 0x100000001b3L;
+	}
+	
 	private void handleInputGame (float deltaTime) {
 		if (cameraHelper.hasTarget(level.bunnyHead)) {
 			
 			// Player movement
-			if (Gdx.input.isKeyPressed(Keys.LEFT)) {
-				level.bunnyHead.velocity.x = -level.bunnyHead.terminalVelocity.x;
-			} else if (Gdx.input.isKeyPressed(Keys.RIGHT)) {
-				level.bunnyHead.velocity.x = level.bunnyHead.terminalVelocity.x;
+			if (input.isPressed(InputState.LEFT)) {
+				level.bunnyHead.velocity.x = -level.bunnyHead.type.terminalVelocity.x;
+			} else if (input.isPressed(InputState.RIGHT)) {
+				level.bunnyHead.velocity.x = level.bunnyHead.type.terminalVelocity.x;
 			} else {
 				// Use accelerometer for movement if available
-				if (accelerometerAvailable) {
-					// Normalize accelerometer values from [-10, 10] to [-1, 1]
+				if (input.isPressed(InputState.TILT)) {
 					// which translate to rotations of [-90, 90] degrees
-					float amount = Gdx.input.getAccelerometerY() / 10.0f;
+					float amount = input.getTilt();
 					amount *= 90.0f;
 					// is angle of rotation inside dead zone ?
 					if (Math.abs(amount) < Constants.ACCEL_ANGLE_DEAD_ZONE) {
@@ -206,44 +551,52 @@ public class WorldController extends InputAdapter {
 						// the full 90 degrees for maximum velocity
 						amount /= Constants.ACCEL_MAX_ANGLE_MAX_MOVEMENT;
 					}
-					level.bunnyHead.velocity.x = level.bunnyHead.terminalVelocity.x * amount;
+					level.bunnyHead.velocity.x = level.bunnyHead.type.terminalVelocity.x * amount;
 				}
 				// Execute auto-forward movement on non-desktop platform
-				else if (Gdx.app.getType() != ApplicationType.Desktop) {
-					level.bunnyHead.velocity.x = level.bunnyHead.terminalVelocity.x;
+				else if (input.isPressed(InputState.FORWARD)) {
+					level.bunnyHead.velocity.x = level.bunnyHead.type.terminalVelocity.x;
 				}
 			}
 			
 			// Bunny jump
-			if (Gdx.input.isKeyPressed(Keys.SPACE) || (Gdx.input.isTouched())) {
-				level.bunnyHead.setJumping(true);
-			} else {
-				level.bunnyHead.setJumping(false);
-			}
+			BunnyHead.JUMP_STATE jumpState = level.bunnyHead.jumpState;
+			level.bunnyHead.setJumping(input.isPressed(InputState.JUMP));
+			if (jumpState != BunnyHead.JUMP_STATE.JUMP_RISING && level.bunnyHead.jumpState == BunnyHead.JUMP_STATE.JUMP_RISING)
+				listener.jumped(jumpState != BunnyHead.JUMP_STATE.GROUNDED);
 		}
 	}
 	
 	private void handleDebugInput (float deltaTime) {
-		if (Gdx.app.getType() != ApplicationType.Desktop) return;
+		// reset game world
+		if (input.isPressed(InputState.RESET)) {
+			init();
+			Gdx.app.debug(TAG, "Game world resetted");
+		}
+		// Toggle camera follow
+		if (input.isPressed(InputState.TOGGLE_FOLLOW)) {
+			cameraHelper.setTarget(cameraHelper.hasTarget() ? null : level.bunnyHead);
+			Gdx.app.debug(TAG, "Camera follow eneabled: " + cameraHelper.hasTarget());
+		}
 		
 		if (!cameraHelper.hasTarget(level.bunnyHead)) {	
 			// camera controls (move)
 			float camMoveSpeed = 5 * deltaTime;
 			float camMoveSpeedAccelerationFactor = 5;
-			if (Gdx.input.isKeyPressed(Keys.SHIFT_LEFT)) camMoveSpeed *= camMoveSpeedAccelerationFactor;
-			if (Gdx.input.isKeyPressed(Keys.LEFT)) moveCamera(-camMoveSpeed, 0);
-			if (Gdx.input.isKeyPressed(Keys.RIGHT)) moveCamera(camMoveSpeed, 0);
-			if (Gdx.input.isKeyPressed(Keys.UP)) moveCamera(0, camMoveSpeed);
-			if (Gdx.input.isKeyPressed(Keys.DOWN)) moveCamera(0, -camMoveSpeed);
-			if (Gdx.input.isKeyPressed(Keys.BACKSPACE)) cameraHelper.setPosition(0, 0);
+			if (input.isPressed(InputState.FAST)) camMoveSpeed *= camMoveSpeedAccelerationFactor;
+			if (input.isPressed(InputState.LEFT)) moveCamera(-camMoveSpeed, 0);
+			if (input.isPressed(InputState.RIGHT)) moveCamera(camMoveSpeed, 0);
+			if (input.isPressed(InputState.UP)) moveCamera(0, camMoveSpeed);
+			if (input.isPressed(InputState.DOWN)) moveCamera(0, -camMoveSpeed);
+			if (input.isPressed(InputState.CAMERA_RESET)) cameraHelper.setPosition(0, 0);
 			
 			// camera controls (zoom)
 			float camZoomSpeed = 1 * deltaTime;
 			float camZoomSpeedAccelerationFactor = 5;
-			if (Gdx.input.isKeyPressed(Keys.SHIFT_LEFT)) camZoomSpeed *= camZoomSpeedAccelerationFactor;
-			if (Gdx.input.isKeyPressed(Keys.O)) cameraHelper.addZoom(camZoomSpeed);
-			if (Gdx.input.isKeyPressed(Keys.P)) cameraHelper.addZoom(-camZoomSpeed);
-			if (Gdx.input.isKeyPressed(Keys.L)) cameraHelper.setZoom(1);
+			if (input.isPressed(InputState.FAST)) camZoomSpeed *= camZoomSpeedAccelerationFactor;
+			if (input.isPressed(InputState.ZOOM_OUT)) cameraHelper.addZoom(camZoomSpeed);
+			if (input.isPressed(InputState.ZOOM_IN)) cameraHelper.addZoom(-camZoomSpeed);
+			if (input.isPressed(InputState.ZOOM_RESET)) cameraHelper.setZoom(1);
 		}
 	}
 	
@@ -255,15 +608,12 @@ public class WorldController extends InputAdapter {
 	
 	@Override
 	public boolean keyUp (int keycode) {
-		// reset game world
+		// reset game world and toggle camera follow in the next step
 		if (keycode == Keys.R) {
-			init();
-			Gdx.app.debug(TAG, "Game world resetted");
+			releasedButtons |= InputState.RESET;
 		}
-		// Toggle camera follow
 		else if (keycode == Keys.ENTER) {
-			cameraHelper.setTarget(cameraHelper.hasTarget() ? null : level.bunnyHead);
-			Gdx.app.debug(TAG, "Camera follow eneabled: " + cameraHelper.hasTarget());
+			releasedButtons |= InputState.TOGGLE_FOLLOW;
 		}
 		// Back to Menu
 		else if (keycode == Keys.ESCAPE || keycode == Keys.BACK) {
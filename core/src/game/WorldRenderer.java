@@ -7,6 +7,7 @@ import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.StringBuilder;
 
 import util.Constants;
 import util.GamePreferences;
@@ -16,6 +17,8 @@ public class WorldRenderer implements Disposable {
 	private OrthographicCamera cameraGUI;
 	private SpriteBatch batch;
 	private WorldController worldController;
+	// numbers shown in the GUI, without creating strings every frame
+	private final StringBuilder text = new StringBuilder();
 	
 	public WorldRenderer (WorldController worldController) {
 		this.worldController = worldController;
@@ -35,16 +38,20 @@ public class WorldRenderer implements Disposable {
 		cameraGUI.update();
 	}
 	
-	public void render () {
-		renderWorld(batch);
+	/** @param alpha how far to interpolate from the last simulation step to the current one */
+	public void render (float alpha) {
+		renderWorld(batch, alpha);
 		renderGui(batch);
 	}
 	
-	private void renderWorld (SpriteBatch batch) {
-		worldController.cameraHelper.applyTo(camera);
+	private void renderWorld (SpriteBatch batch, float alpha) {
+		worldController.cameraHelper.applyTo(camera, alpha);
+		float width = camera.viewportWidth * camera.zoom;
+		float height = camera.viewportHeight * camera.zoom;
+		worldController.level.setView(camera.position.x - width / 2, camera.position.y - height / 2, width, height);
 		batch.setProjectionMatrix(camera.combined);
 		batch.begin();
-		worldController.level.render(batch);
+		worldController.level.render(batch, alpha);
 		batch.end();
 	}
 	
@@ -66,13 +73,15 @@ public class WorldRenderer implements Disposable {
 		float offsetX = 50;
 		float offsetY = 50;
 		if (worldController.scoreVisual < worldController.score) {
-			long shakeAlpha = System.currentTimeMillis() % 360;
+			long shakeAlpha = worldController.getTimeMillis() % 360;
 			float shakeDist = 1.5f;
 			offsetX += MathUtils.sinDeg(shakeAlpha * 2.2f) * shakeDist;
 			offsetY += MathUtils.sinDeg(shakeAlpha * 2.9f) * shakeDist;
 		}
 		batch.draw(Assets.instance.goldCoin.goldCoin, x, y, offsetX, offsetY, 100, 100, 0.35f, -0.35f, 0);
-		Assets.instance.fonts.defaultBig.draw(batch, "" + worldController.score, x + 75, y + 37);
+		text.setLength(0);
+		text.append(worldController.score);
+		Assets.instance.fonts.defaultBig.draw(batch, text, x + 75, y + 37);
 	}
 	
 	private void renderGuiExtraLive(SpriteBatch batch) {
@@ -107,7 +116,9 @@ public class WorldRenderer implements Disposable {
 		} else {
 			fpsFont.setColor(1, 0, 0, 1); //red
 		}
-		fpsFont.draw(batch, "FPS: " + fps, x, y);
+		text.setLength(0);
+		text.append("FPS: ").append(fps);
+		fpsFont.draw(batch, text, x, y);
 		fpsFont.setColor(1, 1, 1, 1); //white
 	}
 
@@ -125,7 +136,7 @@ public class WorldRenderer implements Disposable {
 	private void renderGuiFeatherPowerup (SpriteBatch batch) {
 		float x = -15;
 		float y = 30;
-		float timeLeftFeatherPowerup = worldController.level.bunnyHead.timeLeftFeatherPowerup;
+		float timeLeftFeatherPowerup = worldController.getTimeLeftFeatherPowerup();
 		if (timeLeftFeatherPowerup > 0) {
 			// Start icon fade in/out if the left power-up time is less than 4 sec.
 			// The fade interval is set to 5 changes per sec.
@@ -136,7 +147,9 @@ public class WorldRenderer implements Disposable {
 			}
 			batch.draw(Assets.instance.feather.feather, x, y, 50, 50, 100, 100, 0.35f, -0.35f, 0);
 			batch.setColor(1, 1, 1, 1);
-			Assets.instance.fonts.defaultSmall.draw(batch, "" + (int)timeLeftFeatherPowerup, x + 60, y + 57);
+			text.setLength(0);
+			text.append((int)timeLeftFeatherPowerup);
+			Assets.instance.fonts.defaultSmall.draw(batch, text, x + 60, y + 57);
 		}
 	}
 	
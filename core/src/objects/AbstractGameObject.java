@@ -7,27 +7,22 @@ import com.badlogic.gdx.math.MathUtils;
 
 public abstract class AbstractGameObject {
 
+	// shared by all objects of the kind, only the state below is per object
+	public final GameObjectType type;
 	public Vector2 position;
-	public Vector2 dimension;
-	public Vector2 origin;
-	public Vector2 scale;
+	// position before the last update, for interpolated rendering
+	public Vector2 lastPosition;
 	public float rotation;
 	public Vector2 velocity;
-	public Vector2 terminalVelocity;
-	public Vector2 friction;
-	public Vector2 acceleration;
 	public Rectangle bounds;
+	private static final Vector2 tmp = new Vector2();
 	
-	public AbstractGameObject() {
+	public AbstractGameObject(GameObjectType type) {
+		this.type = type;
 		position = new Vector2();
-		dimension = new Vector2(1, 1);
-		origin = new Vector2();
-		scale = new Vector2(1.025f, 1); // CHANGE -> .025 for continuous rocks and mountains.
+		lastPosition = new Vector2();
 		rotation = 0;
 		velocity = new Vector2();
-		terminalVelocity = new Vector2(1, 1);
-		friction = new Vector2();
-		acceleration = new Vector2();
 		bounds = new Rectangle();
 	}
 	
@@ -35,33 +30,34 @@ public abstract class AbstractGameObject {
 		if (velocity.x != 0) {
 			// Apply friction
 			if (velocity.x > 0) {
-				velocity.x = Math.max(velocity.x - friction.x * deltaTime, 0);
+				velocity.x = Math.max(velocity.x - type.friction.x * deltaTime, 0);
 			} else {
-				velocity.x = Math.min(velocity.x + friction.x * deltaTime, 0);
+				velocity.x = Math.min(velocity.x + type.friction.x * deltaTime, 0);
 			}
 		}
 		// Apply acceleration
-		velocity.x  += acceleration.x * deltaTime;
+		velocity.x  += type.acceleration.x * deltaTime;
 		// Make sure the object's velocity does not exceed the positive or negative terminal velocity
-		velocity.x = MathUtils.clamp(velocity.x, -terminalVelocity.x, terminalVelocity.x);
+		velocity.x = MathUtils.clamp(velocity.x, -type.terminalVelocity.x, type.terminalVelocity.x);
 	}
 	
 	protected void updateMotionY (float deltaTime) {
 		if (velocity.y != 0) {
 			// Apply friction
 			if (velocity.y > 0) {
-				velocity.y = Math.max(velocity.y - friction.y * deltaTime, 0);
+				velocity.y = Math.max(velocity.y - type.friction.y * deltaTime, 0);
 			} else {
-				velocity.y = Math.min(velocity.y + friction.y * deltaTime, 0);
+				velocity.y = Math.min(velocity.y + type.friction.y * deltaTime, 0);
 			}
 		}
 		// Apply acceleration
-		velocity.y += acceleration.y * deltaTime;
+		velocity.y += type.acceleration.y * deltaTime;
 		// Make sure the object's velocity does not exceed the positive or negative terminal velocity
-		velocity.y = MathUtils.clamp(velocity.y, -terminalVelocity.y, terminalVelocity.y);
+		velocity.y = MathUtils.clamp(velocity.y, -type.terminalVelocity.y, type.terminalVelocity.y);
 	}
 	
 	public void update (float deltaTime) {
+		lastPosition.set(position);
 		updateMotionX(deltaTime);
 		updateMotionY(deltaTime);
 		// Move to new position
@@ -69,5 +65,23 @@ public abstract class AbstractGameObject {
 		position.y += velocity.y * deltaTime;
 	}
 	
+	/** Moves the object without interpolating from where it was. */
+	public void setPosition (float x, float y) {
+		position.set(x, y);
+		lastPosition.set(x, y);
+	}
+	
+	/**
+	 * Renders the object between its position before the last update and
+	 * the current one.
+	 */
+	public void render (SpriteBatch batch, float alpha) {
+		float x = position.x;
+		float y = position.y;
+		position.set(lastPosition).lerp(tmp.set(x, y), alpha);
+		render(batch);
+		position.set(x, y);
+	}
+	
 	public abstract void render (SpriteBatch batch);
 }
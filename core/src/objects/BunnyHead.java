@@ -1,15 +1,13 @@
 package objects;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.graphics.g2d.ParticleEmitter;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
 
 import game.Assets;
-import util.AudioManager;
 import util.CharacterSkin;
-import util.Constants;
 import util.GamePreferences;
 
 public class BunnyHead extends AbstractGameObject {
@@ -20,7 +18,12 @@ public class BunnyHead extends AbstractGameObject {
 	private final float JUMP_TIME_MIN = 0.1f;
 	private final float JUMP_TIME_OFFSET_FLYING = JUMP_TIME_MAX - 0.018f;
 	
-	public ParticleEffect dustParticles = new ParticleEffect();
+	// the dust is only drawn, the simulation tells where it was kicked up
+	private ParticleEffect dustParticles;
+	private boolean dustStarted;
+	private final Vector2 dustPosition = new Vector2();
+	// simulated time the dust has not been advanced by yet
+	private float dustTime;
 
 	public enum VIEW_DIRECTION {
 		LEFT, RIGHT
@@ -30,29 +33,29 @@ public class BunnyHead extends AbstractGameObject {
 		GROUNDED, FALLING, JUMP_RISING, JUMP_FALLING
 	}
 
-	private TextureRegion regHead;
+	public static final GameObjectType TYPE = new GameObjectType(1, 1);
+	static {
+		// Center image on game object
+		TYPE.origin.set(TYPE.dimension.x / 2, TYPE.dimension.y / 2);
+		// Set physics values
+		TYPE.terminalVelocity.set(3.0f, 4.0f);
+		TYPE.friction.set(12.0f, 0.0f);
+		TYPE.acceleration.set(0.0f, -25.0f);
+	}
 
 	public VIEW_DIRECTION viewDirection;
 	public float timeJumping;
 	public JUMP_STATE jumpState;
 	public boolean hasFeatherPowerup;
-	public float timeLeftFeatherPowerup;
 
 	public BunnyHead() {
+		super(TYPE);
 		init();
 	}
 
 	public void init() {
-		dimension.set(1, 1);
-		regHead = Assets.instance.bunny.head;
-		// Center image on game object
-		origin.set(dimension.x / 2, dimension.y / 2);
 		// Bounding box for collision detection
-		bounds.set(0, 0, dimension.x, dimension.y);
-		// Set physics values
-		terminalVelocity.set(3.0f, 4.0f);
-		friction.set(12.0f, 0.0f);
-		acceleration.set(0.0f, -25.0f);
+		bounds.set(0, 0, type.dimension.x, type.dimension.y);
 		// View direction
 		viewDirection = VIEW_DIRECTION.RIGHT;
 		// Jump state
@@ -60,16 +63,23 @@ public class BunnyHead extends AbstractGameObject {
 		timeJumping = 0;
 		// Power-ups
 		hasFeatherPowerup = false;
-		timeLeftFeatherPowerup = 0;
-		// Particles
-		dustParticles.load(Gdx.files.internal("particles/dust.pfx"), Gdx.files.internal("particles"));
+		// Motion
+		velocity.set(0, 0);
+		dustStarted = false;
+		dustTime = 0;
+		if (dustParticles != null) dustParticles.reset();
 	}
 
+	/** Copies the current dust prototype when the bunny is drawn next, also after it was reloaded. */
+	public void reloadParticles() {
+		dustParticles = null;
+	}
+	
+	/** Starts or ends a jump, the world tells the game when the jump state became {@link JUMP_STATE#JUMP_RISING}. */
 	public void setJumping(boolean jumpKeyPressed) {
 		switch (jumpState) {
 		case GROUNDED: // Character is standing on a platform
 			if (jumpKeyPressed) {
-				AudioManager.instance.play(Assets.instance.sounds.jump);
 				timeJumping = 0;
 				jumpState = JUMP_STATE.JUMP_RISING;
 			}
@@ -82,22 +92,19 @@ public class BunnyHead extends AbstractGameObject {
 		case FALLING: // Falling down
 		case JUMP_FALLING: // Falling down after jump
 			if (jumpKeyPressed && hasFeatherPowerup) {
-				AudioManager.instance.play(Assets.instance.sounds.jumpWithFeather, 1, MathUtils.random(1.0f, 1.1f));
 				timeJumping = JUMP_TIME_OFFSET_FLYING;
 				jumpState = JUMP_STATE.JUMP_RISING;
 			}
 		}
 	}
 
+	/** Turns the power-up on or off, the world times how long it lasts. */
 	public void setFeatherPowerup(boolean pickedUp) {
 		hasFeatherPowerup = pickedUp;
-		if (pickedUp) {
-			timeLeftFeatherPowerup = Constants.ITEM_FEATHER_POWERUP_DURATION;
-		}
 	}
 
 	public boolean hasFeatherPowerup() {
-		return hasFeatherPowerup && timeLeftFeatherPowerup > 0;
+		return hasFeatherPowerup;
 	}
 
 	@Override
@@ -106,14 +113,7 @@ public class BunnyHead extends AbstractGameObject {
 		if (velocity.x != 0) {
 			viewDirection = velocity.x < 0 ? VIEW_DIRECTION.LEFT : VIEW_DIRECTION.RIGHT;
 		}
-		if (timeLeftFeatherPowerup > 0) {
-			timeLeftFeatherPowerup -= deltaTime;
-			if (timeLeftFeatherPowerup < 0) {
-				timeLeftFeatherPowerup = 0;
-				setFeatherPowerup(false);
-			}
-		}
-		dustParticles.update(deltaTime);
+		dustTime += deltaTime;
 	}
 
 	@Override
@@ -122,14 +122,14 @@ public class BunnyHead extends AbstractGameObject {
 		case GROUNDED:
 			jumpState = JUMP_STATE.FALLING;
 			if (velocity.x != 0) {
-				dustParticles.setPosition(position.x + dimension.x / 2, position.y);
-				dustParticles.start();
+				dustPosition.set(position.x + type.dimension.x / 2, position.y);
+				dustStarted = true;
 			}
 			break;
 		case JUMP_RISING:
 			timeJumping += deltaTime;
 			if (timeJumping <= JUMP_TIME_MAX) {
-				velocity.y = terminalVelocity.y;
+				velocity.y = type.terminalVelocity.y;
 			}
 			break;
 		case FALLING:
@@ -137,11 +137,10 @@ public class BunnyHead extends AbstractGameObject {
 		case JUMP_FALLING:
 			timeJumping += deltaTime;
 			if (timeJumping > 0 && timeJumping <= JUMP_TIME_MIN) {
-				velocity.y = terminalVelocity.y;
+				velocity.y = type.terminalVelocity.y;
 			}
 		}
 		if (jumpState != JUMP_STATE.GROUNDED) {
-			dustParticles.allowCompletion();
 			super.updateMotionY(deltaTime);
 		}
 	}
@@ -151,25 +150,25 @@ public class BunnyHead extends AbstractGameObject {
 		TextureRegion reg = null;
 		
 		// Draw particles
-		dustParticles.draw(batch);
+		renderDust(batch);
 		
 		// Apply Skin Color
-		batch.setColor(CharacterSkin.values()[GamePreferences.instance.charSkin].getColor());
+		batch.setColor(CharacterSkin.get(GamePreferences.instance.charSkin).getColor());
 		
 		// Set special color when game object has a feather power-up
 		if (hasFeatherPowerup) {
 			batch.setColor(1.0f, 0.8f, 0.0f, 1.0f);
 		}
-		reg = regHead;
+		reg = Assets.instance.bunny.head;
 		batch.draw(reg.getTexture(),
 				position.x,
 				position.y,
-				origin.x,
-				origin.y,
-				dimension.x,
-				dimension.y,
-				scale.x,
-				scale.y,
+				type.origin.x,
+				type.origin.y,
+				type.dimension.x,
+				type.dimension.y,
+				type.scale.x,
+				type.scale.y,
 				rotation,
 				reg.getRegionX(),
 				reg.getRegionY(), 
@@ -180,4 +179,26 @@ public class BunnyHead extends AbstractGameObject {
 				);
 		batch.setColor(1, 1, 1, 1);
 	}
+	
+	/** Catches the dust up with the simulation and draws it. */
+	private void renderDust(SpriteBatch batch) {
+		if (dustParticles == null) {
+			// a copy of the loaded effect needs no GL context
+			dustParticles = new ParticleEffect(Assets.instance.particles.dust);
+			// create all particles now instead of when they are first emitted
+			for (ParticleEmitter emitter : dustParticles.getEmitters())
+				emitter.addParticles(emitter.getMaxParticleCount());
+			dustParticles.reset();
+		}
+		if (dustStarted) {
+			dustParticles.setPosition(dustPosition.x, dustPosition.y);
+			dustParticles.start();
+			dustStarted = false;
+		}
+		// the dust only keeps coming while the bunny runs on a rock
+		dustParticles.allowCompletion();
+		dustParticles.update(dustTime);
+		dustTime = 0;
+		dustParticles.draw(batch);
+	}
 }
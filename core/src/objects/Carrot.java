@@ -6,35 +6,34 @@ import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import game.Assets;
 
 public class Carrot extends AbstractGameObject {
-	private TextureRegion regCarrot;
+	public static final GameObjectType TYPE = new GameObjectType(0.25f, 0.5f);
+	static {
+		TYPE.origin.set(TYPE.dimension.x / 2, TYPE.dimension.y / 2);
+	}
 	
 	public Carrot() {
+		super(TYPE);
 		init();
 	}
 	
 	private void init() {
-		dimension.set(0.25f, 0.5f);
-		
-		regCarrot = Assets.instance.levelDecoration.carrot;
-		
 		// Set bounding box for collision detection
-		bounds.set(0, 0, dimension.x, dimension.y);
-		origin.set(dimension.x / 2, dimension.y / 2);
+		bounds.set(0, 0, type.dimension.x, type.dimension.y);
 	}
 	
 	public void render (SpriteBatch batch) {
 		TextureRegion reg = null;
 		
-		reg = regCarrot;
+		reg = Assets.instance.levelDecoration.carrot;
 		batch.draw(reg.getTexture(),
-				position.x - origin.x,
-				position.y - origin.y,
-				origin.x,
-				origin.y,
-				dimension.x,
-				dimension.y,
-				scale.x,
-				scale.y,
+				position.x - type.origin.x,
+				position.y - type.origin.y,
+				type.origin.x,
+				type.origin.y,
+				type.dimension.x,
+				type.dimension.y,
+				type.scale.x,
+				type.scale.y,
 				rotation,
 				reg.getRegionX(),
 				reg.getRegionY(),
@@ -2,78 +2,87 @@ package objects;
 
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.RandomXS128;
 import com.badlogic.gdx.utils.Array;
 
 import game.Assets;
 
 public class Clouds extends AbstractGameObject {
 	
+	// all clouds, they only differ in their look and speed
+	public static final GameObjectType TYPE = new GameObjectType(3.0f, 1.5f);
+	private static final float MAX_SPEED = 1.25f;
+	static {
+		// each cloud keeps its own speed below this
+		TYPE.terminalVelocity.set(MAX_SPEED, 0);
+	}
+	
 	private float length;
 	
-	private Array<TextureRegion> regClouds;
+	// the looks of the clouds, picked by index so the clouds move without loaded assets
+	private static final int LOOKS = 3;
 	private Array<Cloud> clouds;
+	// the height and speed of new clouds
+	private final RandomXS128 random;
 	
 	private class Cloud extends AbstractGameObject {
-		private TextureRegion regCloud;
+		private int look;
 		
-		public Cloud () {}
-		
-		public void setRegion (TextureRegion region) {
-			regCloud = region;
+		public Cloud () {
+			super(TYPE);
 		}
 		
 		@Override
 		public void render (SpriteBatch batch) {
-			TextureRegion reg = regCloud;
-			batch.draw(reg.getTexture(), position.x + origin.x, position.y + origin.y, origin.x, origin.y,
-					dimension.x, dimension.y, scale.x, scale.y, rotation, reg.getRegionX(), reg.getRegionY(),
+			TextureRegion reg = getRegion(look);
+			batch.draw(reg.getTexture(), position.x + type.origin.x, position.y + type.origin.y, type.origin.x, type.origin.y,
+					type.dimension.x, type.dimension.y, type.scale.x, type.scale.y, rotation, reg.getRegionX(), reg.getRegionY(),
 					reg.getRegionWidth(), reg.getRegionHeight(), false, false);
 		}
 	}
 	
-	public Clouds (float length) {
+	public Clouds (float length, RandomXS128 random) {
+		super(TYPE);
 		this.length = length;
+		this.random = random;
 		init();
 	}
 	
 	private void init() {
-		dimension.set(3.0f, 1.5f);
-		regClouds = new Array<TextureRegion>();
-		regClouds.add(Assets.instance.levelDecoration.cloud01);
-		regClouds.add(Assets.instance.levelDecoration.cloud02);
-		regClouds.add(Assets.instance.levelDecoration.cloud03);
-		
 		int distFac = 5;
 		int numClouds = (int) (length / distFac);
 		clouds = new Array<Cloud>(2 * numClouds);
 		
 		for(int i = 0; i < numClouds; i++) {
-			Cloud cloud = spawnCloud();
+			Cloud cloud = new Cloud();
+			spawnCloud(cloud);
 			cloud.position.x = i * distFac;
 			clouds.add(cloud);
 		}
 	}
 
-	private Cloud spawnCloud() {
-		Cloud cloud = new Cloud();
-		cloud.dimension.set(dimension);
-		cloud.setRegion(regClouds.random());
+	private static TextureRegion getRegion (int look) {
+		switch (look) {
+		case 0:
+			return Assets.instance.levelDecoration.cloud01;
+		case 1:
+			return Assets.instance.levelDecoration.cloud02;
+		default:
+			return Assets.instance.levelDecoration.cloud03;
+		}
+	}
+	
+	/** Places the cloud at the end of the level with a new look and speed. */
+	private void spawnCloud(Cloud cloud) {
+		cloud.look = random.nextInt(LOOKS);
 		// position
-		Vector2 pos = new Vector2();
-		pos.x = length + 10;
-		pos.y += 1.75;
-		pos.y += MathUtils.random(0.0f, 0.2f) * (MathUtils.randomBoolean() ? 1 : -1);
-		cloud.position.set(pos);
+		float y = 1.75f;
+		y += random.nextFloat() * 0.2f * (random.nextBoolean() ? 1 : -1);
+		cloud.position.set(length + 10, y);
 		// speed
-		Vector2 speed = new Vector2();
-		speed.x += 0.5f; // base speed
-		speed.x += MathUtils.random(0.0f, 0.75f);
-		cloud.terminalVelocity.set(speed);
-		speed.x *= -1; // move left
-		cloud.velocity.set(speed);
-		return cloud;
+		float speed = 0.5f; // base speed
+		speed += random.nextFloat() * (MAX_SPEED - 0.5f);
+		cloud.velocity.set(-speed, 0); // move left
 	}
 
 	@Override
@@ -83,9 +92,10 @@ public class Clouds extends AbstractGameObject {
 			cloud.update(deltaTime);
 			if (cloud.position.x < -10) {
 				// cloud moved outside of world.
-				// destroy and spawn new cloud at end of level.
+				// reuse it as a new cloud at end of level, drawn last like a new one.
 				clouds.removeIndex(i);
-				clouds.add(spawnCloud());
+				spawnCloud(cloud);
+				clouds.add(cloud);
 			}
 		}
 	}
@@ -1,56 +1,59 @@
 package objects;
 
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.PooledEngine;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
+import components.BoundsComponent;
+import components.CollectibleComponent;
+import components.Layer;
+import components.PositionComponent;
+import components.SpriteComponent;
 import game.Assets;
 
-public class Feather extends AbstractGameObject {
+/** Creates the entities of the feathers and draws them. */
+public class Feather {
 
-	private TextureRegion regFeather;
+	public static final GameObjectType TYPE = new GameObjectType(0.5f, 0.5f);
+	public static final int SCORE = 250;
 	
-	public boolean collected;
+	public static final SpriteComponent.Drawer DRAWER = new SpriteComponent.Drawer() {
+		@Override
+		public void draw (SpriteBatch batch, float x, float y, SpriteComponent sprite) {
+			TextureRegion reg = null;
+			reg = Assets.instance.feather.feather;
+			batch.draw(reg.getTexture(),
+					x,
+					y,
+					TYPE.origin.x,
+					TYPE.origin.y,
+					TYPE.dimension.x,
+					TYPE.dimension.y,
+					sprite.scale.x,
+					sprite.scale.y,
+					0,
+					reg.getRegionX(),
+					reg.getRegionY(),
+					reg.getRegionWidth(),
+					reg.getRegionHeight(),
+					false,
+					false
+					);
+		}
+	};
 	
-	public Feather() {
-		init();
-	}
-	
-	private void init () {
-		dimension.set(0.5f, 0.5f);
-		
-		regFeather = Assets.instance.feather.feather;
-		
-		// Set bounding box for collision detection
-		bounds.set(0, 0, dimension.x, dimension.y);
-		
-		collected = false;
-	}
-	
-	public void render (SpriteBatch batch) {
-		if (collected) return;
-		
-		TextureRegion reg = null;
-		reg = regFeather;
-		batch.draw(reg.getTexture(),
-				position.x,
-				position.y,
-				origin.x,
-				origin.y,
-				dimension.x,
-				dimension.y,
-				scale.x,
-				scale.y,
-				rotation,
-				reg.getRegionX(),
-				reg.getRegionY(),
-				reg.getRegionWidth(),
-				reg.getRegionHeight(),
-				false,
-				false
-				);
-	}
+	// prevent instantiation
+	private Feather () { }
 	
-	public int getScore() {
-		return 250;
+	public static Entity create (PooledEngine engine, float x, float y) {
+		Entity entity = engine.createEntity();
+		entity.add(engine.createComponent(PositionComponent.class).set(x, y));
+		// bounding box for collision detection
+		entity.add(engine.createComponent(BoundsComponent.class).set(TYPE.dimension.x, TYPE.dimension.y));
+		entity.add(engine.createComponent(SpriteComponent.class).set(DRAWER, TYPE, false));
+		entity.add(engine.createComponent(Layer.Feathers.class));
+		entity.add(engine.createComponent(CollectibleComponent.class).set(CollectibleComponent.Kind.FEATHER, SCORE));
+		return entity;
 	}
 }
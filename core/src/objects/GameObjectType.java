@@ -0,0 +1,24 @@
+package objects;
+
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * What all game objects of one kind have in common: their size, pivot,
+ * scale and motion limits. Objects only point to their type, so a level
+ * of many rocks or coins holds these values once instead of once per
+ * object. A type is set up right after it is created and not changed
+ * after that, every object of the kind would see the change. The texture
+ * regions are shared the same way, by the kinds in {@link game.Assets}.
+ */
+public class GameObjectType {
+	public final Vector2 dimension;
+	public final Vector2 origin = new Vector2();
+	public final Vector2 scale = new Vector2(1.025f, 1); // CHANGE -> .025 for continuous rocks and mountains.
+	public final Vector2 terminalVelocity = new Vector2(1, 1);
+	public final Vector2 friction = new Vector2();
+	public final Vector2 acceleration = new Vector2();
+
+	public GameObjectType (float width, float height) {
+		dimension = new Vector2(width, height);
+	}
+}
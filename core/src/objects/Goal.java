@@ -6,34 +6,34 @@ import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import game.Assets;
 
 public class Goal extends AbstractGameObject {
-	private TextureRegion regGoal;
+	public static final GameObjectType TYPE = new GameObjectType(3.0f, 3.0f);
+	static {
+		TYPE.origin.set(TYPE.dimension.x / 2.0f, 0.0f);
+	}
 	
 	public Goal() {
+		super(TYPE);
 		init();
 	}
 	
 	private void init() {
-		dimension.set(3.0f, 3.0f);
-		regGoal = Assets.instance.levelDecoration.goal;
-		
 		// Set bounding box for collision detection
 		bounds.set(1, Float.MIN_VALUE, 10, Float.MAX_VALUE); // infinitely tall so that player always triggers finish event
-		origin.set(dimension.x / 2.0f, 0.0f);
 	}
 	
 	public void render(SpriteBatch batch) {
 		TextureRegion reg = null;
 		
-		reg = regGoal;
+		reg = Assets.instance.levelDecoration.goal;
 		batch.draw(reg.getTexture(),
-				position.x - origin.x,
-				position.y - origin.y,
-				origin.x,
-				origin.y,
-				dimension.x,
-				dimension.y,
-				scale.x,
-				scale.y,
+				position.x - type.origin.x,
+				position.y - type.origin.y,
+				type.origin.x,
+				type.origin.y,
+				type.dimension.x,
+				type.dimension.y,
+				type.scale.x,
+				type.scale.y,
 				rotation,
 				reg.getRegionX(),
 				reg.getRegionY(),
@@ -1,75 +1,69 @@
 package objects;
 
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.PooledEngine;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
+import components.BoundsComponent;
+import components.CollectibleComponent;
+import components.Layer;
+import components.PositionComponent;
+import components.PulseComponent;
+import components.SpriteComponent;
 import game.Assets;
 
-public class GoldCoin extends AbstractGameObject {
+/** Creates the entities of the gold coins and draws them. */
+public class GoldCoin {
 	
-	private TextureRegion regGoldCoin;
-	private static float TIME_DIMENSION_CHANGE = 0.5f;
-	private float timeLeftDimensionChange;
-	private boolean gettingBigger;
-	public boolean collected;
+	public static final GameObjectType TYPE = new GameObjectType(0.5f, 0.5f);
+	public static final int SCORE = 100;
+	// time to shrink and grow back
+	private static final float PULSE_PERIOD = 1.0f;
+	private static final float PULSE_DEPTH = 0.3f;
 	
-	
-	public GoldCoin() {
-		init();
-	}
-	
-	private void init() {
-		dimension.set(0.5f, 0.5f);
-		
-		regGoldCoin = Assets.instance.goldCoin.goldCoin;
-		
-		// Set bounding box for collision detection
-		bounds.set(0, 0, dimension.x, dimension.y);
-		
-		timeLeftDimensionChange = TIME_DIMENSION_CHANGE;
-		gettingBigger = false;
-		collected = false;
-	}
-	
-	public void update (float deltaTime) {
-		super.update(deltaTime);
-		if (timeLeftDimensionChange < 0) {
-			gettingBigger = !gettingBigger;
-			timeLeftDimensionChange = TIME_DIMENSION_CHANGE;
-		} else {
-			timeLeftDimensionChange -= deltaTime;
-			if (gettingBigger)
-				scale.add(0.01f, 0.01f);
-			else
-				scale.add(-0.01f, -0.01f);
+	public static final SpriteComponent.Drawer DRAWER = new SpriteComponent.Drawer() {
+		@Override
+		public void draw (SpriteBatch batch, float x, float y, SpriteComponent sprite) {
+			TextureRegion reg = null;
+			reg = Assets.instance.goldCoin.goldCoin;
+			batch.draw(reg.getTexture(),
+					x,
+					y,
+					TYPE.origin.x,
+					TYPE.origin.y,
+					TYPE.dimension.x,
+					TYPE.dimension.y,
+					sprite.scale.x,
+					sprite.scale.y,
+					0,
+					reg.getRegionX(),
+					reg.getRegionY(),
+					reg.getRegionWidth(),
+					reg.getRegionHeight(),
+					false,
+					false
+					);
 		}
-	}
+	};
 	
-	public void render (SpriteBatch batch) {
-		if (collected) return;
-		
-		TextureRegion reg = null;
-		reg = regGoldCoin;
-		batch.draw(reg.getTexture(),
-				position.x,
-				position.y,
-				origin.x,
-				origin.y,
-				dimension.x,
-				dimension.y,
-				scale.x,
-				scale.y,
-				rotation,
-				reg.getRegionX(),
-				reg.getRegionY(),
-				reg.getRegionWidth(),
-				reg.getRegionHeight(),
-				false,
-				false
-				);
-	}
+	// prevent instantiation
+	private GoldCoin () { }
 	
-	public int getScore() {
-		return 100;
+	/** @param pulsePhase where in the pulse the coin is at time 0 of the level clock, any phase works */
+	public static Entity create (PooledEngine engine, float x, float y, float pulsePhase) {
+		Entity entity = engine.createEntity();
+		entity.add(engine.createComponent(PositionComponent.class).set(x, y));
+		// bounding box for collision detection
+		entity.add(engine.createComponent(BoundsComponent.class).set(TYPE.dimension.x, TYPE.dimension.y));
+		entity.add(engine.createComponent(SpriteComponent.class).set(DRAWER, TYPE, false));
+		entity.add(engine.createComponent(Layer.GoldCoins.class));
+		PulseComponent pulse = engine.createComponent(PulseComponent.class);
+		pulse.phase = pulsePhase;
+		pulse.period = PULSE_PERIOD;
+		pulse.depth = PULSE_DEPTH;
+		entity.add(pulse);
+		entity.add(engine.createComponent(CollectibleComponent.class).set(CollectibleComponent.Kind.GOLD_COIN, SCORE));
+		return entity;
 	}
 }
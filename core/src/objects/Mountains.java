@@ -9,49 +9,47 @@ import game.Assets;
 
 public class Mountains extends AbstractGameObject {
 	
-	private TextureRegion regMountainLeft;
-	private TextureRegion regMountainRight;
+	public static final GameObjectType TYPE = new GameObjectType(10, 2);
+	static {
+		// shift mountain
+		TYPE.origin.x = -TYPE.dimension.x * 2;
+	}
 	
 	private int length;
 	
 	public Mountains (int length) {
+		super(TYPE);
 		this.length = length;
 		init();
 	}
 	
 	private void init() {
-		dimension.set(10, 2);
-
-		regMountainLeft = Assets.instance.levelDecoration.mountainLeft;
-		regMountainRight = Assets.instance.levelDecoration.mountainRight;
-		
-		// shift mountain and extend length
-		origin.x = -dimension.x * 2;
-		length += dimension.x * 2;
+		// extend length
+		length += type.dimension.x * 2;
 	}
 	
 	private void drawMountain (SpriteBatch batch, float offsetX, float offsetY, float tintColor, float parallaxSpeedX) {
 		TextureRegion reg = null;
 		batch.setColor(tintColor, tintColor, tintColor, 1);
-		float xRel = dimension.x * offsetX;
-		float yRel = dimension.y * offsetY;
+		float xRel = type.dimension.x * offsetX;
+		float yRel = type.dimension.y * offsetY;
 		
 		// mountains span the whole level
 		int mountainLength = 0;
-		mountainLength += MathUtils.ceil(length / (2 * dimension.x) * (1 - parallaxSpeedX));
+		mountainLength += MathUtils.ceil(length / (2 * type.dimension.x) * (1 - parallaxSpeedX));
 		mountainLength += MathUtils.ceil(0.5f + offsetX);
 		for (int i = 0; i < mountainLength; i++) {
 			// mountain left
-			reg = regMountainLeft;
+			reg = Assets.instance.levelDecoration.mountainLeft;
 			batch.draw(reg.getTexture(),
-					origin.x + xRel + position.x * parallaxSpeedX, 
-					position.y + origin.y + yRel,
-					origin.x, 
-					origin.y,
-					dimension.x,
-					dimension.y,
-					scale.x,
-					scale.y,
+					type.origin.x + xRel + position.x * parallaxSpeedX, 
+					position.y + type.origin.y + yRel,
+					type.origin.x, 
+					type.origin.y,
+					type.dimension.x,
+					type.dimension.y,
+					type.scale.x,
+					type.scale.y,
 					rotation,
 					reg.getRegionX(),
 					reg.getRegionY(),
@@ -60,19 +58,19 @@ public class Mountains extends AbstractGameObject {
 					false,
 					false
 					);
-			xRel += dimension.x;
+			xRel += type.dimension.x;
 			
 			//mountain right
-			reg = regMountainRight;
+			reg = Assets.instance.levelDecoration.mountainRight;
 			batch.draw(reg.getTexture(),
-					origin.x + xRel + position.x * parallaxSpeedX,
-					position.y + origin.y + yRel,
-					origin.x,
-					origin.y,
-					dimension.x,
-					dimension.y,
-					scale.x,
-					scale.y, 
+					type.origin.x + xRel + position.x * parallaxSpeedX,
+					position.y + type.origin.y + yRel,
+					type.origin.x,
+					type.origin.y,
+					type.dimension.x,
+					type.dimension.y,
+					type.scale.x,
+					type.scale.y, 
 					rotation,
 					reg.getRegionX(), 
 					reg.getRegionY(),
@@ -81,7 +79,7 @@ public class Mountains extends AbstractGameObject {
 					false, 
 					false
 					);
-			xRel += dimension.x;
+			xRel += type.dimension.x;
 		}
 		// reset color to white
 		batch.setColor(1, 1, 1, 1);
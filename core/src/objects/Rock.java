@@ -1,140 +1,129 @@
 package objects;
 
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.PooledEngine;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.math.Vector2;
 
+import components.BoundsComponent;
+import components.FloatOscillatorComponent;
+import components.Layer;
+import components.PositionComponent;
+import components.SolidComponent;
+import components.SpriteComponent;
 import game.Assets;
 
-public class Rock extends AbstractGameObject {
+/** Creates the entities of the floating rocks and draws them. */
+public class Rock {
 
-	private TextureRegion regEdge;
-	private TextureRegion regMiddle;
+	// the width and height of a rock
+	public static final GameObjectType TYPE = new GameObjectType(1, 1.5f);
 	
-	// number of middle parts to use for a rock
-	private int length;
+	// time to float down and back up
+	private static final float FLOAT_PERIOD = 4.0f;
+	private static final float FLOAT_AMPLITUDE = 0.25f;
 	
-	private final float FLOAT_CYCLE_TIME = 2.0f;
-	private final float FLOAT_AMPLITUDE = 0.25f;
-	private float floatCycleTimeLeft;
-	private boolean floatingDownwards;
-	private Vector2 floatTargetPosition;
-	
-	public Rock() {
-		init();
-	}
-	
-	private void init() {
-		// set the width and height of a rock
-		dimension.set(1, 1.5f);
-		
-		regEdge = Assets.instance.rock.edge;
-		regMiddle = Assets.instance.rock.middle;
-				
-		setLength(1);
+	public static final SpriteComponent.Drawer DRAWER = new SpriteComponent.Drawer() {
+		@Override
+		public void draw (SpriteBatch batch, float x, float y, SpriteComponent sprite) {
+			TextureRegion reg = null;
 		
-		floatingDownwards = false;
-		floatCycleTimeLeft = MathUtils.random(0, FLOAT_CYCLE_TIME / 2);
-		floatTargetPosition = null;
-	}
-	
-	public void setLength (int length) {
-		this.length = length;
-		// Update bounding box for collision detection
-		bounds.set(0, 0, dimension.x * length, dimension.y);
-	}
-	
-	public void increaseLength (int amount) {
-		setLength(length + amount);
-	}
-
-	@Override
-	public void update (float deltaTime) {
-		super.update(deltaTime);
+			float relX = 0;
+			float relY = 0;
 		
-		floatCycleTimeLeft -= deltaTime;
-		if (floatTargetPosition == null) {
-			floatTargetPosition = new Vector2(position);
-		}
-		if (floatCycleTimeLeft <= 0) {
-			floatCycleTimeLeft = FLOAT_CYCLE_TIME;
-			floatingDownwards = !floatingDownwards;
-			floatTargetPosition.y += FLOAT_AMPLITUDE * (floatingDownwards ? -1 : 1);
-		}
-		position.lerp(floatTargetPosition, deltaTime);
-	}
-	
-	@Override
-	public void render(SpriteBatch batch) {
-		TextureRegion reg = null;
-		
-		float relX = 0;
-		float relY = 0;
+			// Draw left edge
+			reg = Assets.instance.rock.edge;
+			relX -= TYPE.dimension.x / 4;
+			batch.draw(reg.getTexture(),
+					x + relX,
+					y + relY,
+					TYPE.origin.x,
+					TYPE.origin.y,
+					TYPE.dimension.x / 4,
+					TYPE.dimension.y,
+					sprite.scale.x,
+					sprite.scale.y,
+					0,
+					reg.getRegionX(),
+					reg.getRegionY(),
+					reg.getRegionWidth(),
+					reg.getRegionHeight(),
+					false,
+					false
+					);
 		
-		// Draw left edge
-		reg = regEdge;
-		relX -= dimension.x / 4;
-		batch.draw(reg.getTexture(),
-				position.x + relX,
-				position.y + relY,
-				origin.x,
-				origin.y,
-				dimension.x / 4,
-				dimension.y,
-				scale.x,
-				scale.y,
-				rotation,
-				reg.getRegionX(),
-				reg.getRegionY(),
-				reg.getRegionWidth(),
-				reg.getRegionHeight(),
-				false,
-				false
-				);
+			// Draw middle
+			relX = 0;
+			reg = Assets.instance.rock.middle;
+			for (int i = 0; i < sprite.length; i++) {
+				batch.draw(reg.getTexture(),
+						x + relX,
+						y + relY,
+						TYPE.origin.x,
+						TYPE.origin.y,
+						TYPE.dimension.x,
+						TYPE.dimension.y,
+						sprite.scale.x, 
+						sprite.scale.y, 
+						0, 
+						reg.getRegionX(),
+						reg.getRegionY(),
+						reg.getRegionWidth(),
+						reg.getRegionHeight(),
+						false,
+						false
+						);
+				relX += TYPE.dimension.x;
+			}
 		
-		// Draw middle
-		relX = 0;
-		reg = regMiddle;
-		for (int i = 0; i < length; i++) {
+			// Draw right edge
+			reg = Assets.instance.rock.edge;
 			batch.draw(reg.getTexture(),
-					position.x + relX,
-					position.y + relY,
-					origin.x,
-					origin.y,
-					dimension.x,
-					dimension.y,
-					scale.x, 
-					scale.y, 
-					rotation, 
+					x + relX,
+					y + relY,
+					TYPE.origin.x + TYPE.dimension.x / 8,
+					TYPE.origin.y,
+					TYPE.dimension.x / 4,
+					TYPE.dimension.y,
+					sprite.scale.x,
+					sprite.scale.y,
+					0,
 					reg.getRegionX(),
 					reg.getRegionY(),
 					reg.getRegionWidth(),
 					reg.getRegionHeight(),
-					false,
+					true, 
 					false
 					);
-			relX += dimension.x;
 		}
-		
-		// Draw right edge
-		reg = regEdge;
-		batch.draw(reg.getTexture(),
-				position.x + relX,
-				position.y + relY,
-				origin.x + dimension.x / 8,
-				origin.y,
-				dimension.x / 4,
-				dimension.y,
-				scale.x,
-				scale.y,
-				rotation,
-				reg.getRegionX(),
-				reg.getRegionY(),
-				reg.getRegionWidth(),
-				reg.getRegionHeight(),
-				true, 
-				false
-				);			
+	};
+	
+	// prevent instantiation
+	private Rock () { }
+	
+	/**
+	 * @param length number of middle parts to use for the rock
+	 * @param floatPhase point of the float cycle at time 0 of the level
+	 *           clock, in [0, 1); the rock floats down from where it is
+	 */
+	public static Entity create (PooledEngine engine, float x, float y, int length, float floatPhase) {
+		Entity entity = engine.createEntity();
+		entity.add(engine.createComponent(PositionComponent.class).set(x, y));
+		// bounding box for collision detection
+		entity.add(engine.createComponent(BoundsComponent.class).set(TYPE.dimension.x * length, TYPE.dimension.y));
+		SpriteComponent sprite = engine.createComponent(SpriteComponent.class).set(DRAWER, TYPE, true);
+		sprite.length = length;
+		entity.add(sprite);
+		entity.add(engine.createComponent(Layer.Rocks.class));
+		FloatOscillatorComponent oscillator = engine.createComponent(FloatOscillatorComponent.class);
+		oscillator.topY = y;
+		oscillator.phase = floatPhase;
+		oscillator.period = FLOAT_PERIOD;
+		oscillator.amplitude = FLOAT_AMPLITUDE;
+		// posed when it comes near the visible area
+		oscillator.asleep = true;
+		entity.add(oscillator);
+		entity.add(engine.createComponent(SolidComponent.class));
+		return entity;
 	}
 }
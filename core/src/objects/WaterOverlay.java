@@ -7,27 +7,22 @@ import game.Assets;
 
 public class WaterOverlay extends AbstractGameObject {
 
-	private TextureRegion regWaterOverlay;
-	private float length;
-	
 	public WaterOverlay(float length) {
-		this.length = length;
+		// as long as the level, the only one of its kind
+		super(new GameObjectType(length * 10, 3));
 		init();
 	}
 
 	private void init() {
-		dimension.set(length * 10, 3);
-		regWaterOverlay = Assets.instance.levelDecoration.waterOverlay;
-		
-		origin.x = -dimension.x / 2;
+		type.origin.x = -type.dimension.x / 2;
 	}
 	
 	@Override
 	public void render(SpriteBatch batch) {
 		TextureRegion reg = null;
-		reg = regWaterOverlay;
-		batch.draw(reg.getTexture(), position.x + origin.x, position.y + origin.y, origin.x, origin.y,
-				dimension.x, dimension.y, scale.x, scale.y, rotation, reg.getRegionX(), reg.getRegionY(),
+		reg = Assets.instance.levelDecoration.waterOverlay;
+		batch.draw(reg.getTexture(), position.x + type.origin.x, position.y + type.origin.y, type.origin.x, type.origin.y,
+				type.dimension.x, type.dimension.y, type.scale.x, type.scale.y, rotation, reg.getRegionX(), reg.getRegionY(),
 				reg.getRegionWidth(), reg.getRegionHeight(), false, false);
 	}
 }
@@ -0,0 +1,186 @@
+package physics;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+
+import components.BoundsComponent;
+import components.PositionComponent;
+import objects.BunnyHead;
+import objects.BunnyHead.JUMP_STATE;
+import util.SpatialHash;
+import util.SweptAabb;
+
+/**
+ * The collision code the game was made with. The bunny is swept against
+ * the rocks, then pushed out of the rocks it overlaps; spatial hashes find
+ * the objects near it.
+ */
+public class ArcadePhysics implements PhysicsBackend {
+	// cell size of the collision grids
+	private static final float GRID_CELL_SIZE = 2;
+
+	private final ComponentMapper<PositionComponent> positions = ComponentMapper.getFor(PositionComponent.class);
+	private final ComponentMapper<BoundsComponent> bounds = ComponentMapper.getFor(BoundsComponent.class);
+
+	// collected items are left out
+	private final SpatialHash<Entity> rockGrid = new SpatialHash<Entity>(GRID_CELL_SIZE);
+	private final SpatialHash<Entity> itemGrid = new SpatialHash<Entity>(GRID_CELL_SIZE);
+	private final Array<Entity> rockCandidates = new Array<Entity>();
+	private final Array<Entity> itemCandidates = new Array<Entity>();
+
+	// Rectangles for collision detection
+	private final Rectangle r1 = new Rectangle();
+	private final Rectangle r2 = new Rectangle();
+	private final Rectangle r3 = new Rectangle();
+	private final Rectangle firstRock = new Rectangle();
+	private final Vector2 contactNormal = new Vector2();
+
+	@Override
+	public void addRock (Entity rock) {
+		insert(rockGrid, rock);
+	}
+
+	@Override
+	public void removeRock (Entity rock) {
+		rockGrid.remove(rock);
+	}
+
+	@Override
+	public void moveRock (Entity rock) {
+		// floating rocks may move into other cells
+		insert(rockGrid, rock);
+	}
+
+	@Override
+	public void addItem (Entity item) {
+		insert(itemGrid, item);
+	}
+
+	@Override
+	public void removeItem (Entity item) {
+		itemGrid.remove(item);
+	}
+
+	/** Adds the entity with its bounds where it is, or moves it if it is already in the grid. */
+	private void insert (SpatialHash<Entity> grid, Entity entity) {
+		Vector2 position = positions.get(entity).position;
+		Rectangle box = bounds.get(entity).bounds;
+		grid.insert(entity, position.x, position.y, box.width, box.height);
+	}
+
+	/** @return the bounds of the entity where it is, in the given rectangle */
+	private Rectangle getBounds (Entity entity, Rectangle rectangle) {
+		Vector2 position = positions.get(entity).position;
+		Rectangle box = bounds.get(entity).bounds;
+		return rectangle.set(position.x, position.y, box.width, box.height);
+	}
+
+	@Override
+	public int getObjectCount () {
+		return rockGrid.size() + itemGrid.size();
+	}
+
+	@Override
+	public void step (BunnyHead bunnyHead, float deltaTime, Listener listener) {
+		sweepBunnyHeadAgainstRocks(bunnyHead);
+		r1.set(bunnyHead.position.x, bunnyHead.position.y, bunnyHead.bounds.width, bunnyHead.bounds.height);
+		// only objects in the grid cells around the bunny can collide with it
+		// Test collision: Bunny Head <-> Rocks
+		for (Entity rock : findRocks(r1)) {
+			if (!r1.overlaps(getBounds(rock, r2))) continue;
+			onCollisionBunnyHeadWithRock(bunnyHead, r2);
+		}
+		// Test collision: Bunny Head <-> Items
+		for (Entity item : itemGrid.query(r1.x, r1.y, r1.width, r1.height, itemCandidates)) {
+			if (r1.overlaps(getBounds(item, r2))) listener.itemTouched(item);
+		}
+	}
+
+	/** @return the rocks that may overlap the area, in the order they were added. Valid until the next call. */
+	private Array<Entity> findRocks (Rectangle area) {
+		return rockGrid.query(area.x, area.y, area.width, area.height, rockCandidates);
+	}
+
+	/** @param rock bounds of the rock where it is */
+	private void onCollisionBunnyHeadWithRock (BunnyHead bunnyHead, Rectangle rock) {
+		float heightDifference = Math.abs(bunnyHead.position.y - ( rock.y + rock.height));
+		if(heightDifference > 0.25f) {
+			boolean hitRightEdge = bunnyHead.position.x > rock.x + rock.width / 2.0f;
+			if (hitRightEdge) {
+				bunnyHead.position.x = rock.x + rock.width;
+			} else {
+				bunnyHead.position.x = rock.x - bunnyHead.bounds.width;
+			}
+			return;
+		}
+		switch (bunnyHead.jumpState) {
+		case GROUNDED:
+			break;
+		case FALLING:
+		case JUMP_FALLING:
+			// on top of the rock, whatever its height
+			bunnyHead.position.y = rock.y + rock.height;
+			bunnyHead.jumpState = JUMP_STATE.GROUNDED;
+			break;
+		case JUMP_RISING:
+			bunnyHead.position.y = rock.y + rock.height;
+			break;
+		}
+	}
+
+	/**
+	 * Moves the bunny back to where it first touched a rock on its way
+	 * during the last step, so it cannot pass through rocks when it moves
+	 * more than a rock is thick in one step.
+	 */
+	private void sweepBunnyHeadAgainstRocks (BunnyHead bunnyHead) {
+		float dx = bunnyHead.position.x - bunnyHead.lastPosition.x;
+		float dy = bunnyHead.position.y - bunnyHead.lastPosition.y;
+		if (dx == 0 && dy == 0) return;
+		// bounds at the start of the step and the area swept by them
+		r1.set(bunnyHead.lastPosition.x, bunnyHead.lastPosition.y, bunnyHead.bounds.width, bunnyHead.bounds.height);
+		r3.set(Math.min(r1.x, r1.x + dx), Math.min(r1.y, r1.y + dy), r1.width + Math.abs(dx), r1.height + Math.abs(dy));
+		boolean hit = false;
+		float firstTime = SweptAabb.NO_HIT;
+		float normalX = 0, normalY = 0;
+		for (Entity rock : findRocks(r3)) {
+			getBounds(rock, r2);
+			// rocks already overlapping are left to the overlap test
+			float time = SweptAabb.timeOfImpact(r1, dx, dy, r2, contactNormal);
+			if (time < firstTime) {
+				// bounds of the first rock hit
+				firstRock.set(r2);
+				hit = true;
+				firstTime = time;
+				normalX = contactNormal.x;
+				normalY = contactNormal.y;
+			}
+		}
+		if (!hit) return;
+		if (normalY > 0) {
+			// landed on top, keep moving sideways
+			bunnyHead.position.y = firstRock.y + firstRock.height;
+			bunnyHead.velocity.y = 0;
+		} else if (normalY < 0) {
+			// bumped the head, stop rising
+			bunnyHead.position.y = firstRock.y - bunnyHead.bounds.height;
+			bunnyHead.velocity.y = 0;
+			return;
+		} else {
+			// ran into the side, keep falling or rising
+			bunnyHead.position.x = normalX < 0 ? firstRock.x - bunnyHead.bounds.width
+				: firstRock.x + firstRock.width;
+			bunnyHead.velocity.x = 0;
+		}
+		onCollisionBunnyHeadWithRock(bunnyHead, firstRock);
+	}
+
+	@Override
+	public void dispose () {
+		rockGrid.clear();
+		itemGrid.clear();
+	}
+}
@@ -0,0 +1,228 @@
+package physics;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.ContactImpulse;
+import com.badlogic.gdx.physics.box2d.ContactListener;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.Manifold;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import components.BoundsComponent;
+import components.PositionComponent;
+import objects.BunnyHead;
+import objects.BunnyHead.JUMP_STATE;
+
+/**
+ * Resolves the moves of the bunny in a Box2D world. Rocks are kinematic
+ * bodies, driven by their velocity to where they floated to and left to
+ * sleep when they stop; gold coins and feathers are static sensors, the
+ * bunny is a dynamic
+ * body that is given the move of each step as its velocity. There is no
+ * gravity in the world, the bunny falls by its own acceleration; where the
+ * world stops the bunny short of its move, it landed, bumped its head or
+ * ran into a wall.
+ */
+public class Box2DPhysics implements PhysicsBackend {
+	private static final int VELOCITY_ITERATIONS = 6;
+	private static final int POSITION_ITERATIONS = 2;
+	// the bunny moved at least this much less than it wanted, it was stopped
+	private static final float STOP_TOLERANCE = 0.0001f;
+	// Box2D moves a body at most 2 units per world step, longer moves are split
+	private static final float MAX_MOVE_PER_STEP = 1;
+	// Box2D keeps boxes 0.015 apart, their polygon radius of 0.01 each less
+	// the allowed penetration of 0.005; the boxes are made smaller by half of
+	// that, so objects at rest touch where their bounds meet
+	private static final float SKIN = 0.0075f;
+
+	private final ComponentMapper<PositionComponent> positions = ComponentMapper.getFor(PositionComponent.class);
+	private final ComponentMapper<BoundsComponent> bounds = ComponentMapper.getFor(BoundsComponent.class);
+
+	private final World world;
+	// bodies of the rocks and items
+	private final ObjectMap<Entity, Body> bodies = new ObjectMap<Entity, Body>();
+	private Body bunnyBody;
+	// items the bunny touched in the current step, reported after it
+	private final Array<Entity> touched = new Array<Entity>(false, 16);
+	// rocks that floated since the last step, and the ones that were given a velocity before
+	private final Array<Body> moved = new Array<Body>(false, 64);
+	private final Array<Body> moving = new Array<Body>(false, 64);
+
+	private final BodyDef bodyDef = new BodyDef();
+	private final FixtureDef fixtureDef = new FixtureDef();
+	private final PolygonShape box;
+
+	public Box2DPhysics () {
+		Box2D.init();
+		world = new World(new Vector2(0, 0), true);
+		world.setContactListener(new ContactListener() {
+			@Override
+			public void beginContact (Contact contact) {
+				Fixture a = contact.getFixtureA();
+				Fixture b = contact.getFixtureB();
+				// items are the only sensors
+				if (a.isSensor()) touched.add((Entity)a.getBody().getUserData());
+				if (b.isSensor()) touched.add((Entity)b.getBody().getUserData());
+			}
+
+			@Override
+			public void endContact (Contact contact) {
+			}
+
+			@Override
+			public void preSolve (Contact contact, Manifold oldManifold) {
+			}
+
+			@Override
+			public void postSolve (Contact contact, ContactImpulse impulse) {
+			}
+		});
+		box = new PolygonShape();
+		fixtureDef.shape = box;
+		fixtureDef.density = 1;
+		// the bunny controls its speed itself
+		fixtureDef.friction = 0;
+		fixtureDef.restitution = 0;
+	}
+
+	@Override
+	public void addRock (Entity rock) {
+		bodies.put(rock, createBody(rock, BodyType.KinematicBody, false));
+	}
+
+	@Override
+	public void removeRock (Entity rock) {
+		destroyBody(rock);
+	}
+
+	@Override
+	public void moveRock (Entity rock) {
+		Body body = bodies.get(rock);
+		// the velocity that takes it there is set in the step, which knows the time step
+		if (body != null) moved.add(body);
+	}
+
+	@Override
+	public void addItem (Entity item) {
+		bodies.put(item, createBody(item, BodyType.StaticBody, true));
+	}
+
+	@Override
+	public void removeItem (Entity item) {
+		destroyBody(item);
+	}
+
+	@Override
+	public int getObjectCount () {
+		return bodies.size;
+	}
+
+	@Override
+	public void step (BunnyHead bunnyHead, float deltaTime, Listener listener) {
+		if (deltaTime <= 0) return;
+		if (bunnyBody == null) {
+			bunnyBody = createBody(bunnyHead.position, bunnyHead.bounds, BodyType.DynamicBody, false);
+			bunnyBody.setFixedRotation(true);
+			bunnyBody.setBullet(true);
+		}
+		float halfWidth = bunnyHead.bounds.width / 2;
+		float halfHeight = bunnyHead.bounds.height / 2;
+		float startX = bunnyHead.lastPosition.x;
+		float startY = bunnyHead.lastPosition.y;
+		float dx = bunnyHead.position.x - startX;
+		float dy = bunnyHead.position.y - startY;
+		// the bunny may have been moved anywhere since the last step
+		bunnyBody.setTransform(startX + halfWidth, startY + halfHeight, 0);
+		bunnyBody.setLinearVelocity(dx / deltaTime, dy / deltaTime);
+		bunnyBody.setAwake(true);
+		// rocks that stopped floating stop, so they fall asleep
+		for (int i = 0; i < moving.size; i++) {
+			Body body = moving.get(i);
+			if (!moved.contains(body, true)) body.setLinearVelocity(0, 0);
+		}
+		for (int i = 0; i < moved.size; i++) {
+			Body body = moved.get(i);
+			Entity rock = (Entity)body.getUserData();
+			Vector2 position = positions.get(rock).position;
+			Rectangle box = bounds.get(rock).bounds;
+			Vector2 center = body.getPosition();
+			body.setLinearVelocity((position.x + box.width / 2 - center.x) / deltaTime,
+				(position.y + box.height / 2 - center.y) / deltaTime);
+		}
+		int steps = Math.max(1, MathUtils.ceil(Math.max(Math.abs(dx), Math.abs(dy)) / MAX_MOVE_PER_STEP));
+		for (int i = 0; i < steps; i++)
+			world.step(deltaTime / steps, VELOCITY_ITERATIONS, POSITION_ITERATIONS);
+		moving.clear();
+		moving.addAll(moved);
+		moved.clear();
+
+		Vector2 center = bunnyBody.getPosition();
+		bunnyHead.position.set(center.x - halfWidth, center.y - halfHeight);
+		float movedX = bunnyHead.position.x - startX;
+		float movedY = bunnyHead.position.y - startY;
+		if (dy < 0 && movedY > dy + STOP_TOLERANCE) {
+			// landed on a rock
+			bunnyHead.velocity.y = 0;
+			if (bunnyHead.jumpState == JUMP_STATE.FALLING || bunnyHead.jumpState == JUMP_STATE.JUMP_FALLING)
+				bunnyHead.jumpState = JUMP_STATE.GROUNDED;
+		} else if (dy > 0 && movedY < dy - STOP_TOLERANCE) {
+			// bumped the head, stop rising
+			bunnyHead.velocity.y = 0;
+		}
+		if (Math.abs(movedX - dx) > STOP_TOLERANCE) bunnyHead.velocity.x = 0;
+
+		for (int i = 0; i < touched.size; i++)
+			listener.itemTouched(touched.get(i));
+		touched.clear();
+	}
+
+	/** @return a body of the entity with a box of its bounds, placed where it is */
+	private Body createBody (Entity entity, BodyType type, boolean sensor) {
+		Body body = createBody(positions.get(entity).position, bounds.get(entity).bounds, type, sensor);
+		body.setUserData(entity);
+		return body;
+	}
+
+	/** @return a body with a box of the bounds, placed at the position */
+	private Body createBody (Vector2 position, Rectangle bounds, BodyType type, boolean sensor) {
+		float halfWidth = bounds.width / 2;
+		float halfHeight = bounds.height / 2;
+		bodyDef.type = type;
+		bodyDef.position.set(position.x + halfWidth, position.y + halfHeight);
+		Body body = world.createBody(bodyDef);
+		box.setAsBox(halfWidth - SKIN, halfHeight - SKIN);
+		fixtureDef.isSensor = sensor;
+		body.createFixture(fixtureDef);
+		return body;
+	}
+
+	private void destroyBody (Entity entity) {
+		Body body = bodies.remove(entity);
+		if (body == null) return;
+		moved.removeValue(body, true);
+		moving.removeValue(body, true);
+		world.destroyBody(body);
+	}
+
+	@Override
+	public void dispose () {
+		world.dispose();
+		box.dispose();
+		bodies.clear();
+		moved.clear();
+		moving.clear();
+		bunnyBody = null;
+	}
+}
@@ -0,0 +1,48 @@
+package physics;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.utils.Disposable;
+
+import objects.BunnyHead;
+
+/**
+ * Keeps the bunny out of the rocks and finds the items it touches. Rocks
+ * and items are entities with a position and bounds, the
+ * {@link systems.CollisionSystem} adds and removes them as the level
+ * streams chunks in and out. The bunny moves itself by its velocity, the
+ * backend then corrects that move once per step.
+ */
+public interface PhysicsBackend extends Disposable {
+	enum Type {
+		// the hand-written collision code the game was made with
+		ARCADE,
+		// a Box2D world, rocks are kinematic bodies and items static sensors
+		BOX2D
+	}
+
+	/** Told about the items the bunny touched in a step. */
+	interface Listener {
+		void itemTouched (Entity item);
+	}
+
+	void addRock (Entity rock);
+
+	void removeRock (Entity rock);
+
+	/** The rock floated to a new position. */
+	void moveRock (Entity rock);
+
+	void addItem (Entity item);
+
+	/** Also called when the item is collected. */
+	void removeItem (Entity item);
+
+	/**
+	 * Corrects the move of the bunny from its last position to its current
+	 * one, where it ran into rocks, and reports the items it touches.
+	 */
+	void step (BunnyHead bunnyHead, float deltaTime, Listener listener);
+
+	/** @return the number of objects the backend knows */
+	int getObjectCount ();
+}
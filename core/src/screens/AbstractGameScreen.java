@@ -15,12 +15,20 @@ public abstract class AbstractGameScreen implements Screen {
 	
 	public abstract InputProcessor getInputProcessor();
 	
+	/** Advances the simulation by one fixed step, see {@link DirectedGame#getAlpha()}. */
+	public void update(float deltaTime) {
+	}
+	
 	public abstract void render(float deltaTime);
 	public abstract void resize(int width, int height);
 	public abstract void show();
 	public abstract void hide();
 	public abstract void pause();
 	
+	/** Called when an asset was reloaded while the game runs, by its internal path. */
+	public void assetReloaded(String fileName) {
+	}
+	
 	public void resume() {
 		Assets.instance.init(new AssetManager());
 	}
@@ -5,8 +5,11 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Pixmap.Format;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.utils.TimeUtils;
 
 import screens.transitions.ScreenTransition;
+import util.Constants;
+import util.JobSystem;
 
 public abstract class DirectedGame implements ApplicationListener {
 	private boolean init;
@@ -17,6 +20,9 @@ public abstract class DirectedGame implements ApplicationListener {
 	private SpriteBatch batch;
 	private float t;
 	private ScreenTransition screenTransition;
+	// simulation time not yet stepped
+	private float accumulator;
+	private long lastFrameTime = -1;
 	
 	public void setScreen (AbstractGameScreen screen) {
 		setScreen(screen, null);
@@ -35,7 +41,8 @@ public abstract class DirectedGame implements ApplicationListener {
 		nextScreen = screen;
 		nextScreen.show(); // activate next screen
 		nextScreen.resize(w, h);
-		nextScreen.render(0); // let screen update() once
+		nextScreen.update(0); // let screen update() once
+		nextScreen.render(0);
 		if (currScreen != null) currScreen.pause();
 		nextScreen.pause();
 		Gdx.input.setInputProcessor(null); // disable input
@@ -45,12 +52,17 @@ public abstract class DirectedGame implements ApplicationListener {
 	
 	@Override
 	public void render() {
+		long now = TimeUtils.nanoTime();
+		float frameTime = lastFrameTime < 0 ? 0 : (now - lastFrameTime) / 1000000000.0f;
+		lastFrameTime = now;
 		// get delta time and ensure an upper limit of one 60th second
-		float deltaTime = Math.min(Gdx.graphics.getDeltaTime(), 1.0f / 60.0f);
+		float deltaTime = Math.min(frameTime, 1.0f / 60.0f);
 		if (nextScreen == null) {
 			// no ongoing transition
-			if (currScreen != null)
+			if (currScreen != null) {
+				step(currScreen, frameTime);
 				currScreen.render(deltaTime);
+			}
 		} else {
 			// ongoing transition
 			float duration = 0;
@@ -66,6 +78,7 @@ public abstract class DirectedGame implements ApplicationListener {
 				Gdx.input.setInputProcessor(nextScreen.getInputProcessor());
 				// switch screens
 				currScreen = nextScreen;
+				accumulator = 0;
 				nextScreen = null;
 				screenTransition = null;
 			} else {
@@ -83,6 +96,32 @@ public abstract class DirectedGame implements ApplicationListener {
 		}
 	}
 	
+	/**
+	 * Runs the simulation of the screen in fixed steps for the time that
+	 * passed, so it behaves the same at every frame rate. After a long frame
+	 * at most {@link Constants#SIMULATION_MAX_STEPS} steps are run and the
+	 * rest of the time is dropped.
+	 */
+	private void step (AbstractGameScreen screen, float frameTime) {
+		accumulator += frameTime;
+		int steps = 0;
+		while (accumulator >= Constants.SIMULATION_STEP && steps < Constants.SIMULATION_MAX_STEPS) {
+			screen.update(Constants.SIMULATION_STEP);
+			accumulator -= Constants.SIMULATION_STEP;
+			steps++;
+		}
+		if (accumulator >= Constants.SIMULATION_STEP) accumulator %= Constants.SIMULATION_STEP;
+	}
+	
+	/**
+	 * @return how far the time is between the last simulation step and the
+	 *         next one, in [0, 1). Rendering interpolates between the last
+	 *         two simulation states by this amount.
+	 */
+	public float getAlpha () {
+		return accumulator / Constants.SIMULATION_STEP;
+	}
+	
 	@Override
 	public void resize(int width, int height) {
 		if (currScreen != null) currScreen.resize(width, height);
@@ -99,6 +138,12 @@ public abstract class DirectedGame implements ApplicationListener {
 		if (currScreen != null) currScreen.resume();
 	}
 	
+	/** Lets the screens react to an asset that was reloaded while the game runs. */
+	public void assetReloaded(String fileName) {
+		if (currScreen != null) currScreen.assetReloaded(fileName);
+		if (nextScreen != null) nextScreen.assetReloaded(fileName);
+	}
+	
 	@Override
 	public void dispose() {
 		if (currScreen != null) currScreen.hide();
@@ -111,5 +156,6 @@ public abstract class DirectedGame implements ApplicationListener {
 			batch.dispose();
 			init = false;
 		}
+		JobSystem.instance.dispose();
 	}
 }
@@ -4,6 +4,7 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.graphics.GL20;
 
+import game.InputRecording;
 import game.WorldController;
 import game.WorldRenderer;
 import util.GamePreferences;
@@ -15,9 +16,22 @@ public class GameScreen extends AbstractGameScreen {
 	private WorldRenderer worldRenderer;
 	
 	private boolean paused;
+	private int levelIndex;
+	private InputRecording replay;
 	
 	public GameScreen(DirectedGame game) {
+		this(game, 0);
+	}
+	
+	public GameScreen(DirectedGame game, int levelIndex) {
 		super(game);
+		this.levelIndex = levelIndex;
+	}
+	
+	/** Replays the recorded game. */
+	public GameScreen(DirectedGame game, InputRecording replay) {
+		this(game, replay.levelIndex);
+		this.replay = replay;
 	}
 	
 	@Override
@@ -26,17 +40,21 @@ public class GameScreen extends AbstractGameScreen {
 	}
 
 	@Override
-	public void render(float deltaTime) {
+	public void update(float deltaTime) {
 		// Do not update game world when paused.
 		if (!paused) {
 			worldController.update(deltaTime);
 		}
+	}
+	
+	@Override
+	public void render(float deltaTime) {
 		// Sets the clear screen color to: Cornflower Blue
 		Gdx.gl.glClearColor(0x64 / 255.0f, 0x95 / 255.0f, 0xed / 255.0f, 0xff / 255.0f);
 		// Clears the screen
 		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
-		// Render game world to screen
-		worldRenderer.render();
+		// Render game world to screen, between the last two simulation steps
+		worldRenderer.render(game.getAlpha());
 	}
 
 	@Override
@@ -47,17 +65,23 @@ public class GameScreen extends AbstractGameScreen {
 	@Override
 	public void show() {
 		GamePreferences.instance.load();
-		worldController = new WorldController(game);
+		worldController = replay != null ? new WorldController(game, replay) : new WorldController(game, levelIndex);
 		worldRenderer = new WorldRenderer(worldController);
 		Gdx.input.setCatchBackKey(true); // Android's back key
 	}
 
 	@Override
 	public void hide() {
+		worldController.dispose();
 		worldRenderer.dispose();
 		Gdx.input.setCatchBackKey(false);
 	}
 	
+	@Override
+	public void assetReloaded(String fileName) {
+		worldController.assetReloaded(fileName);
+	}
+	
 	@Override
 	public void pause() {
 		paused = true;
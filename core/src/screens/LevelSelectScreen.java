@@ -0,0 +1,161 @@
+package screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.ui.Image;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.ScrollPane;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
+import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
+import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.viewport.StretchViewport;
+
+import game.Level;
+import game.LevelPack;
+import game.LevelThumbnails;
+import screens.transitions.ScreenTransition;
+import screens.transitions.ScreenTransitionFade;
+import util.Constants;
+
+public class LevelSelectScreen extends AbstractGameScreen implements LevelThumbnails.Listener {
+	private static final String TAG = LevelSelectScreen.class.getName();
+
+	private Stage stage;
+	private Skin skinLibgdx;
+	private LevelThumbnails thumbnails;
+
+	// one image per level, showing a placeholder until its thumbnail is ready
+	private Array<Image> imgThumbnails = new Array<Image>();
+	private TextButton btnBack;
+
+	public LevelSelectScreen (DirectedGame game) {
+		super(game);
+	}
+
+	private void rebuildStage() {
+		skinLibgdx = new Skin(
+				Gdx.files.internal(
+					Constants.SKIN_LIBGDX_UI),
+					new TextureAtlas(Constants.TEXTURE_ATLAS_LIBGDX_UI)
+				);
+
+		stage.clear();
+		Table layer = new Table();
+		layer.setFillParent(true);
+		layer.pad(20);
+		// + Title
+		layer.add(new Label("Select Level", skinLibgdx, "default-font", Color.ORANGE)).padBottom(10);
+		layer.row();
+		// + Levels
+		ScrollPane scrollPane = new ScrollPane(buildLevelsTable(), skinLibgdx);
+		scrollPane.setFadeScrollBars(false);
+		layer.add(scrollPane).expand().fill();
+		layer.row();
+		// + Back Button
+		btnBack = new TextButton("Back", skinLibgdx);
+		layer.add(btnBack).padTop(10);
+		btnBack.addListener(new ChangeListener() {
+			@Override
+			public void changed (ChangeEvent event, Actor actor) {
+				onBackClicked();
+			}
+		});
+		stage.addActor(layer);
+	}
+
+	private Table buildLevelsTable() {
+		Table tbl = new Table();
+		tbl.defaults().pad(5);
+		imgThumbnails.clear();
+		Array<LevelPack.Entry> levels = Level.listLevels();
+		for (int i = 0; i < Constants.LEVELS.length; i++) {
+			final int levelIndex = i;
+			LevelPack.Entry entry = levels.get(i);
+			// + Thumbnail placeholder
+			Image imgThumbnail = new Image(skinLibgdx.newDrawable("white", Color.DARK_GRAY));
+			imgThumbnails.add(imgThumbnail);
+			tbl.add(imgThumbnail).width(LevelThumbnails.WIDTH).height(LevelThumbnails.HEIGHT);
+			// + Name and metadata from the level pack index
+			String info = "Level " + (i + 1);
+			if (entry != null) info += "\n" + entry.goldCoinCount + " coins, " + entry.featherCount + " feathers";
+			tbl.add(new Label(info, skinLibgdx)).left().expandX();
+			// + Play Button
+			TextButton btnPlay = new TextButton("Play", skinLibgdx);
+			tbl.add(btnPlay);
+			btnPlay.addListener(new ChangeListener() {
+				@Override
+				public void changed (ChangeEvent event, Actor actor) {
+					onLevelClicked(levelIndex);
+				}
+			});
+			tbl.row();
+		}
+		return tbl;
+	}
+
+	@Override
+	public void thumbnailReady (int levelIndex, Texture texture) {
+		if (levelIndex < imgThumbnails.size) {
+			imgThumbnails.get(levelIndex).setDrawable(new TextureRegionDrawable(new TextureRegion(texture)));
+		}
+	}
+
+	private void onLevelClicked(int levelIndex) {
+		ScreenTransition transition = ScreenTransitionFade.init(0.75f); // 0.75 sec fade time
+		game.setScreen(new GameScreen(game, levelIndex), transition);
+	}
+
+	private void onBackClicked() {
+		ScreenTransition transition = ScreenTransitionFade.init(0.75f);
+		game.setScreen(new MenuScreen(game), transition);
+	}
+
+	@Override
+	public InputProcessor getInputProcessor() {
+		return stage;
+	}
+
+	@Override
+	public void render(float deltaTime) {
+		Gdx.gl.glClearColor(0.0f, 0.0f, 0.0f, 1.0f);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		stage.act(deltaTime);
+		stage.draw();
+	}
+
+	@Override
+	public void resize(int width, int height) {
+		stage.getViewport().update(width, height, true);
+	}
+
+	@Override
+	public void show() {
+		stage = new Stage(new StretchViewport(Constants.VIEWPORT_GUI_WIDTH, Constants.VIEWPORT_GUI_HEIGHT));
+		rebuildStage();
+		// placeholders are shown right away, thumbnails fill in as they are ready
+		thumbnails = new LevelThumbnails(this);
+		thumbnails.load();
+	}
+
+	@Override
+	public void hide() {
+		thumbnails.dispose();
+		stage.dispose();
+		skinLibgdx.dispose();
+	}
+
+	@Override
+	public void pause() {
+
+	}
+}
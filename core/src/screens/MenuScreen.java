@@ -45,6 +45,7 @@ public class MenuScreen extends AbstractGameScreen {
 	private Image imgBunny;
 	private Button btnMenuPlay;
 	private Button btnMenuOptions;
+	private TextButton btnMenuLevels;
 	
 	// options
 	private Window winOptions;
@@ -156,6 +157,16 @@ public class MenuScreen extends AbstractGameScreen {
 				onOptionsClicked();
 			}
 		});
+		layer.row();
+		// + Levels Button
+		btnMenuLevels = new TextButton("Levels", skinLibgdx);
+		layer.add(btnMenuLevels).fillX();
+		btnMenuLevels.addListener(new ChangeListener() {
+			@Override
+			public void changed (ChangeEvent event, Actor actor) {
+				onLevelsClicked();
+			}
+		});
 		if (debugEnabled) layer.debug();
 		return layer;
 	}
@@ -165,10 +176,16 @@ public class MenuScreen extends AbstractGameScreen {
 		game.setScreen(new GameScreen(game), transition);
 	}
 	
+	private void onLevelsClicked() {
+		ScreenTransition transition = ScreenTransitionFade.init(0.75f);
+		game.setScreen(new LevelSelectScreen(game), transition);
+	}
+	
 	private void onOptionsClicked() {
 		loadSettings();
 		btnMenuPlay.setVisible(false);
 		btnMenuOptions.setVisible(false);
+		btnMenuLevels.setVisible(false);
 		winOptions.setVisible(true);
 	}
 	
@@ -319,7 +336,7 @@ public class MenuScreen extends AbstractGameScreen {
 	}
 	
 	private void onCharSkinSelected(int index) {
-		CharacterSkin skin = CharacterSkin.values()[index];
+		CharacterSkin skin = CharacterSkin.get(index);
 		imgCharSkin.setColor(skin.getColor());
 	}
 	
@@ -332,6 +349,7 @@ public class MenuScreen extends AbstractGameScreen {
 	private void onCancelClicked() {
 		btnMenuPlay.setVisible(true);
 		btnMenuOptions.setVisible(true);
+		btnMenuLevels.setVisible(true);
 		winOptions.setVisible(false);
 		AudioManager.instance.onSettingsUpdated();
 	}
@@ -0,0 +1,37 @@
+package systems;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.gdx.math.MathUtils;
+
+import components.BoundsComponent;
+import components.PositionComponent;
+import components.PulseComponent;
+import components.SpriteComponent;
+
+/**
+ * Pulses the sprites: they shrink from the scale of their type over the
+ * first half of the period and grow back over the second. Only sprites in
+ * the simulation window are animated, collected items are left out.
+ */
+public class AnimationSystem extends SimulationSystem {
+	private final ComponentMapper<PulseComponent> pulses = ComponentMapper.getFor(PulseComponent.class);
+	private final ComponentMapper<SpriteComponent> sprites = ComponentMapper.getFor(SpriteComponent.class);
+
+	public AnimationSystem (int priority) {
+		super(Family.all(PositionComponent.class, BoundsComponent.class, PulseComponent.class, SpriteComponent.class).get(),
+			priority);
+	}
+
+	@Override
+	protected void simulate (Entity entity, float time) {
+		if (!isInWindow(entity)) return;
+		PulseComponent pulse = pulses.get(entity);
+		SpriteComponent sprite = sprites.get(entity);
+		float cycle = time / pulse.period + pulse.phase;
+		cycle -= MathUtils.floor(cycle);
+		float shrink = pulse.depth * (1 - Math.abs(2 * cycle - 1));
+		sprite.scale.set(sprite.type.scale.x - shrink, sprite.type.scale.y - shrink);
+	}
+}
@@ -0,0 +1,84 @@
+package systems;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+
+import components.BoundsComponent;
+import components.CollectibleComponent;
+import components.FloatOscillatorComponent;
+import components.PositionComponent;
+import components.SolidComponent;
+import physics.PhysicsBackend;
+
+/**
+ * Keeps the physics in step with the entities. Rocks and items are added
+ * to it when they enter the engine and removed when they leave it, when
+ * their chunk is evicted or they are collected; the floating rocks that are awake
+ * are moved where they floated to. Run it after the {@link MotionSystem}.
+ */
+public class CollisionSystem extends EntitySystem {
+	private static final Family ROCKS = Family.all(SolidComponent.class, PositionComponent.class, BoundsComponent.class).get();
+	private static final Family ITEMS = Family.all(CollectibleComponent.class, PositionComponent.class, BoundsComponent.class)
+		.get();
+
+	private final ComponentMapper<FloatOscillatorComponent> oscillators = ComponentMapper.getFor(FloatOscillatorComponent.class);
+
+	private final PhysicsBackend physics;
+	private ImmutableArray<Entity> floatingRocks;
+
+	private final EntityListener rockListener = new EntityListener() {
+		@Override
+		public void entityAdded (Entity entity) {
+			physics.addRock(entity);
+		}
+
+		@Override
+		public void entityRemoved (Entity entity) {
+			physics.removeRock(entity);
+		}
+	};
+	private final EntityListener itemListener = new EntityListener() {
+		@Override
+		public void entityAdded (Entity entity) {
+			physics.addItem(entity);
+		}
+
+		@Override
+		public void entityRemoved (Entity entity) {
+			physics.removeItem(entity);
+		}
+	};
+
+	public CollisionSystem (PhysicsBackend physics, int priority) {
+		super(priority);
+		this.physics = physics;
+	}
+
+	@Override
+	public void addedToEngine (Engine engine) {
+		engine.addEntityListener(ROCKS, rockListener);
+		engine.addEntityListener(ITEMS, itemListener);
+		floatingRocks = engine.getEntitiesFor(Family.all(SolidComponent.class, FloatOscillatorComponent.class).get());
+	}
+
+	@Override
+	public void removedFromEngine (Engine engine) {
+		engine.removeEntityListener(rockListener);
+		engine.removeEntityListener(itemListener);
+		floatingRocks = null;
+	}
+
+	@Override
+	public void update (float deltaTime) {
+		for (int i = 0; i < floatingRocks.size(); i++) {
+			Entity rock = floatingRocks.get(i);
+			// sleeping rocks did not move
+			if (!oscillators.get(rock).asleep) physics.moveRock(rock);
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package systems;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.gdx.math.MathUtils;
+
+import components.BoundsComponent;
+import components.FloatOscillatorComponent;
+import components.PositionComponent;
+
+/**
+ * Floats the floating objects down and back up, slowing down at the top
+ * and at the bottom. Objects outside of the simulation window fall asleep
+ * where they are.
+ */
+public class MotionSystem extends SimulationSystem {
+	private final ComponentMapper<FloatOscillatorComponent> oscillators = ComponentMapper.getFor(FloatOscillatorComponent.class);
+
+	public MotionSystem (int priority) {
+		super(Family.all(PositionComponent.class, BoundsComponent.class, FloatOscillatorComponent.class).get(), priority);
+	}
+
+	@Override
+	protected void simulate (Entity entity, float time) {
+		FloatOscillatorComponent oscillator = oscillators.get(entity);
+		if (!isInWindow(entity)) {
+			oscillator.asleep = true;
+			return;
+		}
+		PositionComponent position = positions.get(entity);
+		position.lastPosition.set(position.position);
+		float cycle = time / oscillator.period + oscillator.phase;
+		cycle -= MathUtils.floor(cycle);
+		position.position.y = oscillator.topY - oscillator.amplitude / 2 * (1 - MathUtils.cos(cycle * MathUtils.PI2));
+		if (oscillator.asleep) {
+			// nothing to interpolate from
+			position.lastPosition.set(position.position);
+			oscillator.asleep = false;
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package systems;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+
+import components.Layer;
+import components.PositionComponent;
+import components.SpriteComponent;
+import util.JobSystem;
+
+/**
+ * Draws the sprites layer by layer. Each layer is the family of a
+ * {@link Layer} tag, so a layer only walks its own sprites and adding and
+ * removing entities never sorts them. The sprites out of view are culled in
+ * parallel on the {@link JobSystem} before any is drawn. It is not part of
+ * the simulation, call {@link #render(SpriteBatch, float)} to draw.
+ */
+public class RenderSystem extends EntitySystem {
+	// back to front
+	private static final Family[] LAYERS = { layer(Layer.Rocks.class), layer(Layer.GoldCoins.class),
+		layer(Layer.Feathers.class) };
+
+	private final ComponentMapper<SpriteComponent> sprites = ComponentMapper.getFor(SpriteComponent.class);
+	private final ComponentMapper<PositionComponent> positions = ComponentMapper.getFor(PositionComponent.class);
+
+	// sprites per job when culling in parallel
+	private static final int GRAIN_SIZE = 64;
+	// how far a sprite may reach out of its type's size, rock edges stick out
+	private static final float CULL_MARGIN = 1;
+
+	// entities of each layer, filled while the system is in an engine
+	private final Array<ImmutableArray<Entity>> layers = new Array<ImmutableArray<Entity>>(LAYERS.length);
+	// one culling job per layer, each only changes the sprites of its layer
+	private final Array<JobSystem.RangeJob> cullJobs = new Array<JobSystem.RangeJob>(LAYERS.length);
+	private final Rectangle view = new Rectangle(-Float.MAX_VALUE / 2, -Float.MAX_VALUE / 2, Float.MAX_VALUE,
+		Float.MAX_VALUE);
+	private float alpha;
+
+	public RenderSystem () {
+		setProcessing(false);
+		for (int layer = 0; layer < LAYERS.length; layer++)
+			cullJobs.add(createCullJob(layer));
+	}
+
+	private JobSystem.RangeJob createCullJob (final int layer) {
+		return new JobSystem.RangeJob() {
+			@Override
+			public void run (int start, int end) {
+				ImmutableArray<Entity> entities = layers.get(layer);
+				for (int i = start; i < end; i++)
+					cull(entities.get(i));
+			}
+		};
+	}
+
+	private static Family layer (Class<? extends Component> tag) {
+		return Family.all(SpriteComponent.class, PositionComponent.class, tag).get();
+	}
+
+	@Override
+	public void addedToEngine (Engine engine) {
+		for (int layer = 0; layer < LAYERS.length; layer++)
+			layers.add(engine.getEntitiesFor(LAYERS[layer]));
+	}
+
+	@Override
+	public void removedFromEngine (Engine engine) {
+		layers.clear();
+	}
+
+	/** Sets the area the camera shows, sprites outside of it are not drawn. */
+	public void setView (float x, float y, float width, float height) {
+		view.set(x, y, width, height);
+	}
+
+	/**
+	 * Draws the sprites in view between the last two simulation steps.
+	 * @param alpha 0 for the previous step, 1 for the current one
+	 */
+	public void render (SpriteBatch batch, float alpha) {
+		this.alpha = alpha;
+		// all layers are culled before the barrier, then drawn in order
+		for (int layer = 0; layer < layers.size; layer++)
+			JobSystem.instance.submit(layers.get(layer).size(), GRAIN_SIZE, cullJobs.get(layer));
+		JobSystem.instance.sync();
+		for (int layer = 0; layer < layers.size; layer++) {
+			ImmutableArray<Entity> entities = layers.get(layer);
+			for (int i = 0; i < entities.size(); i++) {
+				SpriteComponent sprite = sprites.get(entities.get(i));
+				if (sprite.visible) sprite.drawer.draw(batch, sprite.drawX, sprite.drawY, sprite);
+			}
+		}
+	}
+
+	/** Finds where the sprite is drawn and whether it is in view, changing nothing but the sprite. */
+	private void cull (Entity entity) {
+		SpriteComponent sprite = sprites.get(entity);
+		PositionComponent position = positions.get(entity);
+		float x = position.position.x;
+		float y = position.position.y;
+		if (sprite.interpolated) {
+			Vector2 last = position.lastPosition;
+			x = last.x + alpha * (x - last.x);
+			y = last.y + alpha * (y - last.y);
+		}
+		sprite.drawX = x;
+		sprite.drawY = y;
+		float width = sprite.type.dimension.x * sprite.length;
+		float height = sprite.type.dimension.y;
+		sprite.visible = x - CULL_MARGIN < view.x + view.width && x + width + CULL_MARGIN > view.x
+			&& y - CULL_MARGIN < view.y + view.height && y + height + CULL_MARGIN > view.y;
+	}
+}
@@ -0,0 +1,93 @@
+package systems;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+
+import components.BoundsComponent;
+import components.PositionComponent;
+import util.JobSystem;
+
+/**
+ * Keeps a level clock and poses the entities of its family for it, in
+ * parallel on the {@link JobSystem}. Poses are functions of the clock, so
+ * entities outside of the simulation window can be left asleep and cost
+ * nothing, and they are posed right where they belong when they come back.
+ * The family must have a position and bounds.
+ */
+public abstract class SimulationSystem extends EntitySystem {
+	// entities per job when updating in parallel
+	private static final int GRAIN_SIZE = 64;
+
+	protected final ComponentMapper<PositionComponent> positions = ComponentMapper.getFor(PositionComponent.class);
+	protected final ComponentMapper<BoundsComponent> bounds = ComponentMapper.getFor(BoundsComponent.class);
+
+	private final Family family;
+	private ImmutableArray<Entity> entities;
+	// entities outside of this area are asleep
+	private final Rectangle window = new Rectangle(-Float.MAX_VALUE / 2, -Float.MAX_VALUE / 2, Float.MAX_VALUE,
+		Float.MAX_VALUE);
+	// seconds since the level started, summed up as a double so it does not drift
+	private double time;
+	private float stepTime;
+
+	// each job only changes its own entities
+	private final JobSystem.RangeJob simulate = new JobSystem.RangeJob() {
+		@Override
+		public void run (int start, int end) {
+			for (int i = start; i < end; i++)
+				simulate(entities.get(i), stepTime);
+		}
+	};
+
+	public SimulationSystem (Family family, int priority) {
+		super(priority);
+		this.family = family;
+	}
+
+	@Override
+	public void addedToEngine (Engine engine) {
+		entities = engine.getEntitiesFor(family);
+	}
+
+	@Override
+	public void removedFromEngine (Engine engine) {
+		entities = null;
+	}
+
+	public void setWindow (float x, float y, float width, float height) {
+		window.set(x, y, width, height);
+	}
+
+	/** @return the time of the level clock in seconds */
+	public float getTime () {
+		return (float)time;
+	}
+
+	public void resetClock () {
+		time = 0;
+	}
+
+	@Override
+	public void update (float deltaTime) {
+		time += deltaTime;
+		stepTime = (float)time;
+		JobSystem.instance.parallelFor(entities.size(), GRAIN_SIZE, simulate);
+	}
+
+	/** @return whether the bounds of the entity reach into the simulation window */
+	protected boolean isInWindow (Entity entity) {
+		Vector2 position = positions.get(entity).position;
+		Rectangle box = bounds.get(entity).bounds;
+		return position.x < window.x + window.width && position.x + box.width > window.x
+			&& position.y < window.y + window.height && position.y + box.height > window.y;
+	}
+
+	/** Poses the entity for the time of the level clock, changing nothing but the entity. */
+	protected abstract void simulate (Entity entity, float time);
+}
@@ -7,6 +7,9 @@ public enum CharacterSkin {
 	GRAY("Gray", 0.7f, 0.7f, 0.7f),
 	BROWN("Brown", 0.7f, 0.5f, 0.3f);
 	
+	// values() returns a new copy on every call
+	private static final CharacterSkin[] skins = values();
+	
 	private String name;
 	private Color color = new Color();
 	
@@ -23,4 +26,9 @@ public enum CharacterSkin {
 	public Color getColor() {
 		return color;
 	}
+	
+	/** @return the skin with the given ordinal */
+	public static CharacterSkin get (int index) {
+		return skins[index];
+	}
 }
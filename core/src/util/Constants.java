@@ -19,6 +19,18 @@ public class Constants {
 	// Location of image file for level 01
 	public static final String LEVEL_01 = "levels/level-01.png";
 
+	// Location of image file for level 02, made with LevelGenerator (seed 2, 256x32)
+	public static final String LEVEL_02 = "levels/level-02.png";
+
+	// Levels of the campaign, in order of play
+	public static final String[] LEVELS = { LEVEL_01, LEVEL_02 };
+
+	// Location of the archive with all compiled levels
+	public static final String LEVEL_PACK = "levels/levels.pack";
+
+	// Location of the palette that maps level image colors to objects
+	public static final String LEVEL_PALETTE = "levels/palette.json";
+
 	// Amount of extra lives at level start
 	public static final int LIVES_START = 3;
 
@@ -44,6 +56,15 @@ public class Constants {
 	
 	// Max angle of rotation needed to gain max movement velocity
 	public static final float ACCEL_MAX_ANGLE_MAX_MOVEMENT = 20.0f;
+	
+	// Duration of one simulation step in seconds
+	public static final float SIMULATION_STEP = 1.0f / 60.0f;
+	
+	// Max simulation steps per frame, the game slows down below this frame rate
+	public static final int SIMULATION_MAX_STEPS = 5;
+	
+	// Width to height of the simulated area, as wide as the widest common screens
+	public static final float SIMULATION_ASPECT_RATIO = 21.0f / 9.0f;
 
 	
 	
@@ -0,0 +1,29 @@
+package util;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates named daemon threads for background work, so worker pools never
+ * keep the application from exiting.
+ */
+public class DaemonThreadFactory implements ThreadFactory {
+	private final String name;
+	private final int priority;
+
+	public DaemonThreadFactory (String name) {
+		this(name, Thread.NORM_PRIORITY);
+	}
+
+	public DaemonThreadFactory (String name, int priority) {
+		this.name = name;
+		this.priority = priority;
+	}
+
+	@Override
+	public Thread newThread (Runnable runnable) {
+		Thread thread = new Thread(runnable, name);
+		thread.setDaemon(true);
+		thread.setPriority(priority);
+		return thread;
+	}
+}
@@ -0,0 +1,87 @@
+package util;
+
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Runs the per-frame work of one thread in parallel. Work is submitted as
+ * ranges of indices which are cut into jobs of a fixed size, so how the
+ * work is split never depends on the number of threads. {@link #sync()} is
+ * the barrier that waits until all work submitted since the last sync is
+ * done.
+ * <p>
+ * Jobs must only change state that belongs to their indices, then the
+ * results are the same no matter how many threads run. Without
+ * {@link Workers} all jobs run on the submitting thread in the order they
+ * were submitted; the launchers of the platforms that have threads supply
+ * them, the browser does not.
+ */
+public class JobSystem implements Disposable {
+	public static final String TAG = JobSystem.class.getName();
+
+	public static final JobSystem instance = new JobSystem();
+
+	/** Work on the indices from start, inclusive, to end, exclusive. */
+	public interface RangeJob {
+		void run (int start, int end);
+	}
+
+	/** Threads that run the jobs, see {@link WorkStealingWorkers}. */
+	public interface Workers extends Disposable {
+		/** @return the number of threads that run jobs, including the syncing thread */
+		int getThreadCount ();
+
+		/** Queues the range of indices in jobs of grainSize indices, at least one index each. */
+		void submit (int count, int grainSize, RangeJob range);
+
+		/** Waits until all submitted work is done. */
+		void sync ();
+	}
+
+	private Workers workers;
+
+	// singleton: prevent instantiation from other classes
+	private JobSystem () { }
+
+	/** Runs the jobs on the workers from now on, null runs them on the submitting thread. */
+	public void setWorkers (Workers workers) {
+		dispose();
+		this.workers = workers;
+	}
+
+	/** @return the number of threads that run jobs, including the syncing thread */
+	public int getThreadCount () {
+		return workers != null ? workers.getThreadCount() : 1;
+	}
+
+	/**
+	 * Queues the range of indices in jobs of grainSize indices. The jobs may
+	 * start right away, they are done after the next {@link #sync()}.
+	 */
+	public void submit (int count, int grainSize, RangeJob range) {
+		if (count <= 0) return;
+		if (grainSize < 1) grainSize = 1;
+		if (workers != null) {
+			workers.submit(count, grainSize, range);
+			return;
+		}
+		for (int start = 0; start < count; start += grainSize)
+			range.run(start, Math.min(count, start + grainSize));
+	}
+
+	/** Waits until all submitted work is done. */
+	public void sync () {
+		if (workers != null) workers.sync();
+	}
+
+	/** Runs the range in jobs of grainSize indices and waits until all of them are done. */
+	public void parallelFor (int count, int grainSize, RangeJob range) {
+		submit(count, grainSize, range);
+		sync();
+	}
+
+	/** Stops the threads of the workers. They are started again when there is new work. */
+	@Override
+	public void dispose () {
+		if (workers != null) workers.dispose();
+	}
+}
@@ -0,0 +1,32 @@
+package util;
+
+import com.badlogic.gdx.math.RandomXS128;
+
+/**
+ * Seeded random numbers for a game. Every subsystem draws from its own
+ * stream, so using more numbers in one of them never changes the numbers of
+ * another, and the same seed always gives the same game. The seed never
+ * changes, so the streams of a game can also be created on the thread that
+ * preloads a level.
+ */
+public class RandomStreams {
+	// float phases of the rocks of a level
+	public static final int LEVEL = 1;
+	// height and speed of the clouds
+	public static final int CLOUDS = 2;
+
+	private final long seed;
+
+	public RandomStreams (long seed) {
+		this.seed = seed;
+	}
+
+	public long getSeed () {
+		return seed;
+	}
+
+	/** @return a new generator for the stream, the same for the same seed */
+	public RandomXS128 create (int stream) {
+		return new RandomXS128(seed ^ stream * 0x9E3779B97F4A7C15L);
+	}
+}
@@ -0,0 +1,191 @@
+package util;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Uniform grid broadphase. Objects are stored in every cell their bounds
+ * touch, so a query only looks at the objects in the cells of the queried
+ * area instead of at all objects. Queries return every object whose bounds
+ * may overlap the area, each once and in the order they were inserted.
+ * Empty cells are not stored, the grid has no size limit. The bookkeeping
+ * of removed objects goes back to pools, so once the grid held as many
+ * objects, adding any objects again allocates nothing.
+ */
+public class SpatialHash<T> {
+	private static class Entry<T> {
+		T object;
+		// insertion order
+		int order;
+		// range of cells the object is in
+		int minX, minY, maxX, maxY;
+		// last query that found the object
+		int stamp;
+	}
+
+	private final float cellSize;
+	// non-empty cells
+	private final LongMap<Array<Entry<T>>> cells = new LongMap<Array<Entry<T>>>();
+	// entries of the objects in the grid
+	private final ObjectMap<T, Entry<T>> entries = new ObjectMap<T, Entry<T>>();
+	private final Array<Entry<T>> found = new Array<Entry<T>>(false, 16);
+	private int nextOrder;
+	private int stamp;
+	// most objects a cell held so far, pooled cells are grown to it so reusing them never allocates
+	private int maxCellSize;
+
+	private final Pool<Entry<T>> entryPool = new Pool<Entry<T>>() {
+		@Override
+		protected Entry<T> newObject () {
+			return new Entry<T>();
+		}
+	};
+	private final Pool<Array<Entry<T>>> cellPool = new Pool<Array<Entry<T>>>() {
+		@Override
+		protected Array<Entry<T>> newObject () {
+			return new Array<Entry<T>>(false, 4);
+		}
+	};
+
+	public SpatialHash (float cellSize) {
+		this.cellSize = cellSize;
+	}
+
+	/** Adds the object with the given bounds, or moves it if it is already in the grid. */
+	public void insert (T object, float x, float y, float width, float height) {
+		Entry<T> entry = entries.get(object);
+		if (entry != null) {
+			update(object, x, y, width, height);
+			return;
+		}
+		entry = entryPool.obtain();
+		entry.object = object;
+		entries.put(object, entry);
+		entry.order = nextOrder++;
+		entry.stamp = stamp;
+		setRange(entry, x, y, width, height);
+		addToCells(entry);
+	}
+
+	/** Moves the object to its new bounds. Does nothing if the object is not in the grid. */
+	public void update (T object, float x, float y, float width, float height) {
+		Entry<T> entry = entries.get(object);
+		if (entry == null) return;
+		int minX = cell(x), minY = cell(y), maxX = cell(x + width), maxY = cell(y + height);
+		// most moves stay within the same cells
+		if (minX == entry.minX && minY == entry.minY && maxX == entry.maxX && maxY == entry.maxY) return;
+		removeFromCells(entry);
+		setRange(entry, x, y, width, height);
+		addToCells(entry);
+	}
+
+	public void remove (T object) {
+		Entry<T> entry = entries.remove(object);
+		if (entry == null) return;
+		removeFromCells(entry);
+		entry.object = null;
+		entryPool.free(entry);
+	}
+
+	public void clear () {
+		for (Entry<T> entry : entries.values()) {
+			entry.object = null;
+			entryPool.free(entry);
+		}
+		entries.clear();
+		for (Array<Entry<T>> cell : cells.values()) {
+			cell.clear();
+			cellPool.free(cell);
+		}
+		cells.clear();
+	}
+
+	public int size () {
+		return entries.size;
+	}
+
+	/**
+	 * Finds the objects that may overlap the area, in insertion order.
+	 * @param result cleared, then filled with the objects found
+	 */
+	public Array<T> query (float x, float y, float width, float height, Array<T> result) {
+		result.clear();
+		found.clear();
+		stamp++;
+		for (int cx = cell(x), maxX = cell(x + width); cx <= maxX; cx++) {
+			for (int cy = cell(y), maxY = cell(y + height); cy <= maxY; cy++) {
+				Array<Entry<T>> cell = cells.get(key(cx, cy));
+				if (cell == null) continue;
+				for (int i = 0; i < cell.size; i++) {
+					Entry<T> entry = cell.get(i);
+					if (entry.stamp == stamp) continue;
+					entry.stamp = stamp;
+					found.add(entry);
+				}
+			}
+		}
+		// insertion sort, only a few objects are found
+		for (int i = 1; i < found.size; i++) {
+			Entry<T> entry = found.get(i);
+			int j = i - 1;
+			while (j >= 0 && found.get(j).order > entry.order) {
+				found.set(j + 1, found.get(j));
+				j--;
+			}
+			found.set(j + 1, entry);
+		}
+		for (int i = 0; i < found.size; i++)
+			result.add(found.get(i).object);
+		found.clear();
+		return result;
+	}
+
+	private int cell (float coordinate) {
+		return MathUtils.floor(coordinate / cellSize);
+	}
+
+	private static long key (int cellX, int cellY) {
+		return (long)cellX << 32 | cellY & 0xffffffffL;
+	}
+
+	private void setRange (Entry<T> entry, float x, float y, float width, float height) {
+		entry.minX = cell(x);
+		entry.minY = cell(y);
+		entry.maxX = cell(x + width);
+		entry.maxY = cell(y + height);
+	}
+
+	private void addToCells (Entry<T> entry) {
+		for (int cx = entry.minX; cx <= entry.maxX; cx++) {
+			for (int cy = entry.minY; cy <= entry.maxY; cy++) {
+				long key = key(cx, cy);
+				Array<Entry<T>> cell = cells.get(key);
+				if (cell == null) {
+					cell = cellPool.obtain();
+					cell.ensureCapacity(maxCellSize - cell.size);
+					cells.put(key, cell);
+				}
+				cell.add(entry);
+				maxCellSize = Math.max(maxCellSize, cell.size);
+			}
+		}
+	}
+
+	private void removeFromCells (Entry<T> entry) {
+		for (int cx = entry.minX; cx <= entry.maxX; cx++) {
+			for (int cy = entry.minY; cy <= entry.maxY; cy++) {
+				long key = key(cx, cy);
+				Array<Entry<T>> cell = cells.get(key);
+				if (cell == null) continue;
+				cell.removeValue(entry, true);
+				if (cell.size == 0) {
+					cells.remove(key);
+					cellPool.free(cell);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package util;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Continuous collision test of a moving box against a box at rest. Unlike
+ * an overlap test after the move it also finds boxes that were passed
+ * through completely, no matter how far the box moves in one step.
+ */
+public class SweptAabb {
+	/** Returned when the boxes do not touch during the motion. */
+	public static final float NO_HIT = Float.POSITIVE_INFINITY;
+
+	/**
+	 * Finds when the moving box first touches the target while it moves by
+	 * (dx, dy). Boxes that already overlap at the start are not reported.
+	 * @param normal set to the side of the target that is hit, pointing away from it
+	 * @return the fraction of the motion at the contact in [0, 1], or {@link #NO_HIT}
+	 */
+	public static float timeOfImpact (Rectangle moving, float dx, float dy, Rectangle target, Vector2 normal) {
+		float entryX, exitX;
+		if (dx > 0) {
+			entryX = (target.x - (moving.x + moving.width)) / dx;
+			exitX = (target.x + target.width - moving.x) / dx;
+		} else if (dx < 0) {
+			entryX = (target.x + target.width - moving.x) / dx;
+			exitX = (target.x - (moving.x + moving.width)) / dx;
+		} else {
+			// no motion on this axis, the boxes must overlap on it all the time
+			if (moving.x + moving.width <= target.x || moving.x >= target.x + target.width) return NO_HIT;
+			entryX = Float.NEGATIVE_INFINITY;
+			exitX = Float.POSITIVE_INFINITY;
+		}
+		float entryY, exitY;
+		if (dy > 0) {
+			entryY = (target.y - (moving.y + moving.height)) / dy;
+			exitY = (target.y + target.height - moving.y) / dy;
+		} else if (dy < 0) {
+			entryY = (target.y + target.height - moving.y) / dy;
+			exitY = (target.y - (moving.y + moving.height)) / dy;
+		} else {
+			if (moving.y + moving.height <= target.y || moving.y >= target.y + target.height) return NO_HIT;
+			entryY = Float.NEGATIVE_INFINITY;
+			exitY = Float.POSITIVE_INFINITY;
+		}
+		// the boxes touch while they overlap on both axes
+		float entry = Math.max(entryX, entryY);
+		float exit = Math.min(exitX, exitY);
+		if (entry >= exit || entry < 0 || entry > 1) return NO_HIT;
+		if (entryX > entryY) {
+			normal.set(dx > 0 ? -1 : 1, 0);
+		} else {
+			normal.set(0, dy > 0 ? -1 : 1);
+		}
+		return entry;
+	}
+}
@@ -0,0 +1,179 @@
+package util;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Hashed timing wheel for the countdowns of the game. Time passes in ticks
+ * of a fixed length and a timer waits in the slot of the tick it is due in,
+ * so a tick only looks at the timers of its slot instead of at all timers.
+ * Timers due more than one turn of the wheel ahead wait in their slot for
+ * the turns left; with a turn longer than most delays the timers looked at
+ * are about the ones that fire. Timers due in the same tick fire in the
+ * order they were scheduled, so runs with the same input fire the same
+ * timers in the same order. Timers are pooled handles kept by their owner,
+ * scheduling, rescheduling and cancelling them never allocates.
+ */
+public class TimingWheel {
+	/** What a timer does when it fires. */
+	public interface Task {
+		void run (Timer timer);
+	}
+
+	/** A countdown, obtained from and freed to the wheel. */
+	public static class Timer {
+		Task task;
+		// tick the timer is due in
+		long deadline;
+		// list of the slot it waits in
+		Timer previous, next;
+		boolean scheduled;
+		// due this tick, cleared when cancelled or rescheduled before it ran
+		boolean firing;
+
+		/** @return whether the timer is waiting to fire */
+		public boolean isScheduled () {
+			return scheduled;
+		}
+	}
+
+	private final float tickDuration;
+	// first and last timer of each slot
+	private final Timer[] heads;
+	private final Timer[] tails;
+	private long tick;
+	// time advanced since the last tick
+	private float accumulator;
+	// timers of the current tick, run after they are all taken out of the slot
+	private final Array<Timer> due = new Array<Timer>(false, 16);
+
+	private final Pool<Timer> pool = new Pool<Timer>() {
+		@Override
+		protected Timer newObject () {
+			return new Timer();
+		}
+	};
+
+	/**
+	 * @param slotCount number of slots, one turn of the wheel is this many ticks
+	 * @param tickDuration length of a tick in seconds, delays are rounded to ticks
+	 */
+	public TimingWheel (int slotCount, float tickDuration) {
+		if (slotCount <= 0 || tickDuration <= 0)
+			throw new GdxRuntimeException("Timing wheel needs slots and a tick length: " + slotCount + " slots of " + tickDuration + " s");
+		this.tickDuration = tickDuration;
+		heads = new Timer[slotCount];
+		tails = new Timer[slotCount];
+	}
+
+	/** @return a timer that runs the task, not scheduled yet */
+	public Timer obtain (Task task) {
+		Timer timer = pool.obtain();
+		timer.task = task;
+		return timer;
+	}
+
+	/** Cancels the timer and returns it to the pool, it must not be used after that. */
+	public void free (Timer timer) {
+		cancel(timer);
+		timer.task = null;
+		pool.free(timer);
+	}
+
+	/**
+	 * Lets the timer fire after the delay, at least one tick from now. A timer
+	 * that is already scheduled is moved to the new time.
+	 */
+	public void schedule (Timer timer, float delay) {
+		cancel(timer);
+		long ticks = Math.max(1, Math.round((delay + accumulator) / tickDuration));
+		timer.deadline = tick + ticks;
+		// append, timers of the same tick fire in the order they were scheduled
+		int slot = slot(timer.deadline);
+		timer.previous = tails[slot];
+		timer.next = null;
+		if (tails[slot] != null) {
+			tails[slot].next = timer;
+		} else {
+			heads[slot] = timer;
+		}
+		tails[slot] = timer;
+		timer.scheduled = true;
+	}
+
+	/** Keeps the timer from firing, nothing happens if it is not scheduled. */
+	public void cancel (Timer timer) {
+		timer.firing = false;
+		if (!timer.scheduled) return;
+		unlink(timer);
+	}
+
+	/** Cancels all timers. */
+	public void cancelAll () {
+		for (int slot = 0; slot < heads.length; slot++) {
+			while (heads[slot] != null)
+				unlink(heads[slot]);
+		}
+		for (int i = 0; i < due.size; i++)
+			due.get(i).firing = false;
+	}
+
+	/** @return the seconds until the timer fires, 0 if it is not scheduled */
+	public float getTimeLeft (Timer timer) {
+		if (!timer.scheduled) return 0;
+		return (timer.deadline - tick) * tickDuration - accumulator;
+	}
+
+	/** Advances the time and runs the timers that are due, tick by tick. */
+	public void update (float deltaTime) {
+		accumulator += deltaTime;
+		while (accumulator >= tickDuration) {
+			accumulator -= tickDuration;
+			tick++;
+			runDue();
+		}
+	}
+
+	private void runDue () {
+		int slot = slot(tick);
+		for (Timer timer = heads[slot]; timer != null;) {
+			Timer next = timer.next;
+			if (timer.deadline == tick) {
+				unlink(timer);
+				timer.firing = true;
+				due.add(timer);
+			}
+			timer = next;
+		}
+		// a task may cancel or reschedule the timers after it
+		for (int i = 0; i < due.size; i++) {
+			Timer timer = due.get(i);
+			if (!timer.firing) continue;
+			timer.firing = false;
+			timer.task.run(timer);
+		}
+		due.clear();
+	}
+
+	private void unlink (Timer timer) {
+		int slot = slot(timer.deadline);
+		if (timer.previous != null) {
+			timer.previous.next = timer.next;
+		} else {
+			heads[slot] = timer.next;
+		}
+		if (timer.next != null) {
+			timer.next.previous = timer.previous;
+		} else {
+			tails[slot] = timer.previous;
+		}
+		timer.previous = null;
+		timer.next = null;
+		timer.scheduled = false;
+	}
+
+	private int slot (long tick) {
+		return (int)(tick % heads.length);
+	}
+}
@@ -0,0 +1,199 @@
+package util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.Queue;
+
+import util.JobSystem.RangeJob;
+
+/**
+ * Runs the jobs of the {@link JobSystem} on a fixed pool of worker threads,
+ * one less than there are cores. Every worker has its own queue and takes
+ * work from the others when it runs out; the syncing thread helps with the
+ * work while it waits. Supplied by the launchers of the platforms that have
+ * threads, the browser does not.
+ */
+public class WorkStealingWorkers implements JobSystem.Workers {
+	public static final String TAG = WorkStealingWorkers.class.getName();
+
+	private static class Job {
+		RangeJob range;
+		int start;
+		int end;
+	}
+
+	private Worker[] workers;
+	// the first queue belongs to the submitting thread, then one per worker
+	private Array<Queue<Job>> queues;
+	private final AtomicInteger queued = new AtomicInteger();
+	private final AtomicInteger unfinished = new AtomicInteger();
+	private final Object lock = new Object();
+	private volatile Throwable failure;
+	// jobs since the last sync, freed by the submitting thread
+	private final Array<Job> submitted = new Array<Job>(false, 64);
+	private final Pool<Job> jobPool = new Pool<Job>() {
+		@Override
+		protected Job newObject () {
+			return new Job();
+		}
+	};
+
+	@Override
+	public int getThreadCount () {
+		start();
+		return workers.length + 1;
+	}
+
+	@Override
+	public void submit (int count, int grainSize, RangeJob range) {
+		start();
+		int jobs = (count + grainSize - 1) / grainSize;
+		// give every queue a block of neighboring jobs, stealing evens out the rest
+		for (int i = 0; i < jobs; i++) {
+			Job job = jobPool.obtain();
+			job.range = range;
+			job.start = i * grainSize;
+			job.end = Math.min(count, job.start + grainSize);
+			submitted.add(job);
+			unfinished.incrementAndGet();
+			Queue<Job> queue = queues.get((int)((long)i * queues.size / jobs));
+			synchronized (queue) {
+				queue.addLast(job);
+			}
+			queued.incrementAndGet();
+		}
+		if (workers.length > 0 && jobs > 1) {
+			synchronized (lock) {
+				lock.notifyAll();
+			}
+		}
+	}
+
+	/** Waits until all submitted work is done, running jobs on this thread meanwhile. */
+	@Override
+	public void sync () {
+		if (submitted.size == 0) return;
+		while (unfinished.get() > 0) {
+			Job job = take(queues, 0);
+			if (job != null) {
+				run(job);
+				continue;
+			}
+			// the rest is running on the workers
+			synchronized (lock) {
+				while (unfinished.get() > 0) {
+					try {
+						lock.wait();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new GdxRuntimeException("Interrupted while waiting for jobs", e);
+					}
+				}
+			}
+		}
+		for (int i = 0; i < submitted.size; i++) {
+			submitted.get(i).range = null;
+			jobPool.free(submitted.get(i));
+		}
+		submitted.clear();
+		Throwable failure = this.failure;
+		if (failure != null) {
+			this.failure = null;
+			throw new GdxRuntimeException("Job failed", failure);
+		}
+	}
+
+	private void start () {
+		if (workers != null) return;
+		workers = new Worker[Math.max(0, Runtime.getRuntime().availableProcessors() - 1)];
+		queues = new Array<Queue<Job>>(workers.length + 1);
+		for (int i = 0; i <= workers.length; i++)
+			queues.add(new Queue<Job>());
+		DaemonThreadFactory threadFactory = new DaemonThreadFactory("JobSystem");
+		for (int i = 0; i < workers.length; i++) {
+			workers[i] = new Worker(queues, i + 1);
+			threadFactory.newThread(workers[i]).start();
+		}
+	}
+
+	/** @return the newest job of the given queue, or else the oldest job of another one */
+	private Job take (Array<Queue<Job>> queues, int index) {
+		if (queued.get() == 0) return null;
+		Queue<Job> own = queues.get(index);
+		Job job = null;
+		synchronized (own) {
+			if (own.size > 0) job = own.removeLast();
+		}
+		for (int i = 1; job == null && i < queues.size; i++) {
+			Queue<Job> other = queues.get((index + i) % queues.size);
+			synchronized (other) {
+				if (other.size > 0) job = other.removeFirst();
+			}
+		}
+		if (job != null) queued.decrementAndGet();
+		return job;
+	}
+
+	private void run (Job job) {
+		try {
+			// skip the rest of the work after a failure, sync() reports it
+			if (failure == null) job.range.run(job.start, job.end);
+		} catch (Throwable t) {
+			if (failure == null) failure = t;
+		} finally {
+			if (unfinished.decrementAndGet() == 0) {
+				synchronized (lock) {
+					lock.notifyAll();
+				}
+			}
+		}
+	}
+
+	private class Worker implements Runnable {
+		// the queues this worker was started with, they outlive dispose()
+		final Array<Queue<Job>> queues;
+		final int index;
+		volatile boolean running = true;
+
+		Worker (Array<Queue<Job>> queues, int index) {
+			this.queues = queues;
+			this.index = index;
+		}
+
+		@Override
+		public void run () {
+			try {
+				while (running) {
+					Job job = take(queues, index);
+					if (job != null) {
+						WorkStealingWorkers.this.run(job);
+						continue;
+					}
+					synchronized (lock) {
+						while (running && queued.get() == 0)
+							lock.wait();
+					}
+				}
+			} catch (InterruptedException e) {
+				// stop working
+			}
+		}
+	}
+
+	/** Stops the workers. They are started again when there is new work. */
+	@Override
+	public void dispose () {
+		if (workers == null) return;
+		sync();
+		for (Worker worker : workers)
+			worker.running = false;
+		synchronized (lock) {
+			lock.notifyAll();
+		}
+		workers = null;
+		queues = null;
+	}
+}
@@ -0,0 +1,162 @@
+package com.mygdx.game.desktop;
+
+import java.lang.management.ManagementFactory;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
+import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+
+import game.Assets;
+import game.InputRecording;
+import game.InputState;
+import game.WorldController;
+import game.WorldRenderer;
+import util.Constants;
+import util.GamePreferences;
+import util.JobSystem;
+import util.WorkStealingWorkers;
+
+/**
+ * Checks that the game allocates nothing once it runs. A bot plays the
+ * first level, then restarts the game and plays the same again. The first
+ * run warms up the pools, the second one must not change the bytes
+ * allocated by the thread in any frame, an update of the world, and with
+ * "--draw" a render of it too. Without it the world runs without a window,
+ * a GL context or loaded assets. Frames that allocate are listed and the
+ * check fails. Run it in the assets folder, like the game, with -Xint:
+ * compiled code leaves out allocations that Android makes and adds some of
+ * its own.
+ */
+public class AllocationBudget {
+	// long enough to lose a life, short enough to not lose the game
+	private static final int FRAMES = 900;
+	private static final int MAX_REPORTED_FRAMES = 20;
+
+	/**
+	 * @param args "--seed n" sets the random numbers of the bot and the
+	 *        level, "--draw" also draws every frame, in a window
+	 */
+	public static void main (String[] args) {
+		long seed = 1;
+		boolean draw = false;
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("--seed") && i + 1 < args.length) seed = Long.parseLong(args[++i]);
+			else if (args[i].equals("--draw")) draw = true;
+		}
+		if (!System.getProperty("java.vm.info", "").contains("interpreted")) {
+			System.out.println("run with -Xint, compiled code does not allocate like the game on a device");
+			System.exit(1);
+		}
+		final long botSeed = seed;
+		final boolean drawn = draw;
+		// jobs run on threads like in the game
+		JobSystem.instance.setWorkers(new WorkStealingWorkers());
+		ApplicationAdapter check = new ApplicationAdapter() {
+			private boolean failed;
+
+			@Override
+			public void create () {
+				failed = !run(botSeed, drawn);
+				Gdx.app.exit();
+			}
+
+			@Override
+			public void dispose () {
+				JobSystem.instance.dispose();
+				if (failed) System.exit(1);
+			}
+		};
+		if (draw) {
+			LwjglApplicationConfiguration config = new LwjglApplicationConfiguration();
+			config.title = AllocationBudget.class.getSimpleName();
+			config.width = 800;
+			config.height = 480;
+			new LwjglApplication(check, config);
+		} else {
+			new HeadlessApplication(check, new HeadlessApplicationConfiguration());
+		}
+	}
+
+	/** @return whether no frame allocated after the warm up */
+	private static boolean run (long seed, boolean draw) {
+		Gdx.app.setLogLevel(Application.LOG_ERROR);
+		if (draw) {
+			Assets.instance.init(new AssetManager());
+			// draw everything the game may draw
+			GamePreferences.instance.showFpsCounter = true;
+		}
+
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		// what measuring costs by itself
+		long overhead = -threads.getThreadAllocatedBytes(thread);
+		overhead += threads.getThreadAllocatedBytes(thread);
+
+		SilentListener listener = new SilentListener();
+		WorldController worldController = new WorldController(listener, createInput(seed));
+		WorldRenderer worldRenderer = null;
+		if (draw) {
+			worldRenderer = new WorldRenderer(worldController);
+			worldRenderer.resize(800, 480);
+		}
+
+		IntArray frames = new IntArray();
+		LongArray bytes = new LongArray();
+		long total = 0;
+		int frame = 0;
+		// the restart is not measured
+		for (; frame < 2 * FRAMES + 1 && !listener.menuReached; frame++) {
+			long start = threads.getThreadAllocatedBytes(thread);
+			worldController.update(Constants.SIMULATION_STEP);
+			if (worldRenderer != null) worldRenderer.render(0.5f);
+			long allocated = threads.getThreadAllocatedBytes(thread) - start - overhead;
+			if (frame <= FRAMES || allocated <= 0) continue;
+			total += allocated;
+			if (frames.size < MAX_REPORTED_FRAMES) {
+				frames.add(frame);
+				bytes.add(allocated);
+			}
+		}
+		worldController.dispose();
+		if (worldRenderer != null) {
+			worldRenderer.dispose();
+			Assets.instance.dispose();
+		}
+
+		if (listener.menuReached) {
+			System.out.println("the game ended in frame " + frame + ", before the second run was done");
+			return false;
+		}
+		if (total == 0) {
+			System.out.println(FRAMES + " frames after the warm up allocated nothing");
+			return true;
+		}
+		for (int i = 0; i < frames.size; i++)
+			System.out.println("frame " + (frames.get(i) - FRAMES - 1) + " allocated " + bytes.get(i) + " bytes");
+		System.out.println(FRAMES + " frames after the warm up allocated " + total + " bytes");
+		return false;
+	}
+
+	/** @return the input of the bot, then a restart, then the same input again */
+	private static InputRecording createInput (long seed) {
+		InputRecording bot = TurboDriver.createBotInput(seed, 0, FRAMES);
+		InputRecording input = new InputRecording(seed, 0);
+		InputState state = new InputState();
+		while (bot.next(state))
+			input.add(state);
+		state.clear();
+		state.buttons = InputState.RESET;
+		input.add(state);
+		bot.rewind();
+		while (bot.next(state))
+			input.add(state);
+		return input;
+	}
+}
@@ -0,0 +1,191 @@
+package com.mygdx.game.desktop;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.tools.texturepacker.TexturePacker;
+import com.badlogic.gdx.tools.texturepacker.TexturePacker.Settings;
+import com.badlogic.gdx.utils.Array;
+
+import game.Assets;
+import game.LevelData;
+import game.LevelFormat;
+import game.LevelPack;
+import game.LevelPalette;
+import screens.DirectedGame;
+import util.Constants;
+import util.DaemonThreadFactory;
+
+/**
+ * Watches the assets while the game runs and reloads what changed, so
+ * edits show up without a restart:
+ * <ul>
+ * <li>a level image is compiled and replaces its level in the level pack,
+ * the running level is rebuilt, keeping the player where it is</li>
+ * <li>a palette change compiles all levels again and packs them</li>
+ * <li>the object atlas is reloaded and its regions are updated in place</li>
+ * <li>particle effects are reloaded and copied by the game objects again</li>
+ * <li>raw images are packed again, which then reloads the atlas</li>
+ * </ul>
+ * Events are collected until the files have been quiet for a moment, so a
+ * burst of writes by an editor or the texture packer causes one reload.
+ */
+public class AssetWatcher implements Runnable {
+	private static final long DEBOUNCE_MILLIS = 150;
+
+	private final DirectedGame game;
+	private final Path assetsDir;
+	private final Path rawDir;
+	private final Settings packSettings;
+	private final WatchService watchService;
+	private final Set<Path> changed = new LinkedHashSet<Path>();
+
+	public AssetWatcher (DirectedGame game, String assetsDir, String rawDir, Settings packSettings) throws IOException {
+		this.game = game;
+		this.assetsDir = new File(assetsDir).toPath().toAbsolutePath().normalize();
+		this.rawDir = new File(rawDir).toPath().toAbsolutePath().normalize();
+		this.packSettings = packSettings;
+		watchService = FileSystems.getDefault().newWatchService();
+		register(this.assetsDir);
+		if (Files.isDirectory(this.rawDir)) register(this.rawDir);
+	}
+
+	/** Starts watching on a daemon thread. */
+	public static void start (DirectedGame game, String assetsDir, String rawDir, Settings packSettings) {
+		try {
+			new DaemonThreadFactory("AssetWatcher").newThread(new AssetWatcher(game, assetsDir, rawDir, packSettings)).start();
+		} catch (IOException e) {
+			System.err.println("Couldn't watch assets: " + e);
+		}
+	}
+
+	private void register (Path dir) throws IOException {
+		dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+		File[] files = dir.toFile().listFiles();
+		if (files == null) return;
+		for (File file : files)
+			if (file.isDirectory()) register(file.toPath());
+	}
+
+	@Override
+	public void run () {
+		try {
+			while (true) {
+				// wait for the first event, then until no more events come in
+				WatchKey key = changed.isEmpty() ? watchService.take() : watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+				if (key == null) {
+					reload();
+					continue;
+				}
+				Path dir = (Path)key.watchable();
+				for (WatchEvent<?> event : key.pollEvents()) {
+					if (event.kind() != ENTRY_CREATE && event.kind() != ENTRY_MODIFY) continue;
+					Path path = dir.resolve((Path)event.context());
+					if (Files.isDirectory(path)) {
+						if (event.kind() == ENTRY_CREATE) register(path);
+					} else {
+						changed.add(path);
+					}
+				}
+				key.reset();
+			}
+		} catch (InterruptedException e) {
+			// stop watching
+		} catch (IOException e) {
+			System.err.println("Stopped watching assets: " + e);
+		}
+	}
+
+	private void reload () {
+		boolean packChanged = false;
+		boolean paletteChanged = false;
+		String packFile = assetsDir.resolve(Constants.LEVEL_PACK).toString();
+		Set<Path> rawDirs = new LinkedHashSet<Path>();
+		for (Path path : changed) {
+			try {
+				if (path.startsWith(rawDir)) {
+					rawDirs.add(path.getParent());
+					continue;
+				}
+				if (!path.startsWith(assetsDir)) continue;
+				String fileName = getAssetName(path);
+				if (fileName.startsWith("levels/") && fileName.endsWith(".png")) {
+					LevelPacker.replace(packFile, LevelPack.getName(fileName), compileLevel(path));
+					packChanged = true;
+				} else if (fileName.equals(Constants.LEVEL_PALETTE)) {
+					// the palette decides what every level image decodes to
+					paletteChanged = true;
+				}
+			} catch (RuntimeException e) {
+				System.err.println("Couldn't process changed asset " + path + ": " + e);
+			}
+		}
+		for (Path dir : rawDirs)
+			repack(dir);
+		if (paletteChanged) {
+			try {
+				String levelsDir = assetsDir.resolve(Constants.LEVEL_PALETTE).getParent().toString();
+				LevelCompiler.process(levelsDir, levelsDir);
+				// packs the levels just compiled without decoding them again
+				LevelPacker.process(levelsDir, packFile);
+				packChanged = true;
+			} catch (RuntimeException e) {
+				System.err.println("Couldn't compile the levels with the changed palette: " + e);
+			}
+		}
+		// apply the changes on the render thread
+		final Array<String> fileNames = new Array<String>(String.class);
+		for (Path path : changed)
+			if (path.startsWith(assetsDir)) fileNames.add(getAssetName(path));
+		changed.clear();
+		final boolean reloadPack = packChanged;
+		Gdx.app.postRunnable(new Runnable() {
+			@Override
+			public void run () {
+				if (reloadPack) LevelPack.resetDefault();
+				for (String fileName : fileNames) {
+					if (fileName.endsWith(".atlas")) Assets.instance.reloadAtlas(fileName);
+					if (fileName.endsWith(".pfx")) Assets.instance.reloadParticleEffect(fileName);
+					game.assetReloaded(fileName);
+				}
+			}
+		});
+	}
+
+	/** @return the compiled level */
+	private byte[] compileLevel (Path path) {
+		FileHandle input = new FileHandle(path.toFile());
+		FileHandle output = new FileHandle(new File(path.getParent().toFile(), LevelFormat.getCompiledFileName(input.name())));
+		File paletteFile = assetsDir.resolve(Constants.LEVEL_PALETTE).toFile();
+		LevelPalette palette = paletteFile.exists() ? LevelPalette.load(new FileHandle(paletteFile)) : LevelPalette.getDefault();
+		LevelData data = LevelCompiler.compile(input, output, palette);
+		System.out.println("Recompiled level " + input.name());
+		return LevelFormat.toBytes(data);
+	}
+
+	/** Packs a raw image directory into its atlas, like {@link DesktopLauncher} does on start. */
+	private void repack (Path dir) {
+		String packName = dir.getFileName().toString().equals("images-ui") ? "canyonbunny-ui" : "canyonbunny";
+		TexturePacker.process(packSettings, dir.toString(), assetsDir.resolve("images").toString(), packName);
+		System.out.println("Repacked " + dir + " -> " + packName);
+	}
+
+	/** @return the path relative to the assets directory, as used by the game */
+	private String getAssetName (Path path) {
+		return assetsDir.relativize(path).toString().replace(File.separatorChar, '/');
+	}
+}
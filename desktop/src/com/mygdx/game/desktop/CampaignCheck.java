@@ -0,0 +1,95 @@
+package com.mygdx.game.desktop;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+import game.Level;
+import game.WorldController;
+import objects.BunnyHead;
+import objects.Goal;
+import util.Constants;
+import util.JobSystem;
+import util.WorkStealingWorkers;
+
+/**
+ * Checks the way through the campaign. A game is started and quit right
+ * away, while the next level is still being preloaded; then a game is
+ * started and the bunny is put onto the goal of every level in turn, so
+ * each next level is taken from the preloader, until the last goal goes
+ * back to the menu. The load times are logged. Run it in the assets
+ * folder, like the game.
+ */
+public class CampaignCheck {
+	// steps played on a level before the bunny is put onto the goal, the next level loads meanwhile
+	private static final int STEPS = 60;
+
+	public static void main (String[] args) {
+		// levels are preloaded on their own thread, the jobs run on threads like in the game
+		JobSystem.instance.setWorkers(new WorkStealingWorkers());
+		new HeadlessApplication(new ApplicationAdapter() {
+			private boolean failed;
+
+			@Override
+			public void create () {
+				failed = !run();
+				Gdx.app.exit();
+			}
+
+			@Override
+			public void dispose () {
+				JobSystem.instance.dispose();
+				if (failed) System.exit(1);
+			}
+		}, new HeadlessApplicationConfiguration());
+	}
+
+	/** @return whether every level was reached and the last goal went back to the menu */
+	private static boolean run () {
+		// the load times are logged at info level
+		Gdx.app.setLogLevel(Application.LOG_INFO);
+		if (Constants.LEVELS.length < 2) {
+			System.out.println("the campaign has one level, there is nothing to preload");
+			return false;
+		}
+
+		// quitting drops the level that is still being preloaded
+		SilentListener listener = new SilentListener();
+		WorldController quit = new WorldController(listener, TurboDriver.createBotInput(1, 0, STEPS));
+		quit.dispose();
+
+		listener = new SilentListener();
+		WorldController worldController = new WorldController(listener, TurboDriver.createBotInput(1, 0,
+			STEPS * Constants.LEVELS.length + Constants.LEVELS.length));
+		for (int index = 0; index < Constants.LEVELS.length; index++) {
+			if (worldController.levelIndex != index) {
+				System.out.println("level " + (worldController.levelIndex + 1) + " is played instead of level " + (index + 1));
+				worldController.dispose();
+				return false;
+			}
+			for (int step = 0; step < STEPS && !listener.menuReached; step++)
+				worldController.update(Constants.SIMULATION_STEP);
+			Level level = worldController.level;
+			// right behind the left edge of the goal and above its bottom, its bounds reach up infinitely
+			BunnyHead bunnyHead = level.bunnyHead;
+			Goal goal = level.goal;
+			bunnyHead.setPosition(goal.position.x + goal.bounds.x + bunnyHead.bounds.width,
+				goal.position.y + goal.bounds.y + bunnyHead.bounds.height);
+			worldController.update(Constants.SIMULATION_STEP);
+			if (index + 1 < Constants.LEVELS.length && (worldController.level == level || listener.menuReached)) {
+				System.out.println("the goal of level " + (index + 1) + " did not start level " + (index + 2));
+				worldController.dispose();
+				return false;
+			}
+		}
+		worldController.dispose();
+		if (!listener.menuReached) {
+			System.out.println("the goal of the last level did not go back to the menu");
+			return false;
+		}
+		System.out.println("all " + Constants.LEVELS.length + " levels were played, each next one was preloaded");
+		return true;
+	}
+}
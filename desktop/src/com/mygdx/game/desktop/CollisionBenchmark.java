@@ -0,0 +1,112 @@
+package com.mygdx.game.desktop;
+
+import java.util.Comparator;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+import game.LevelData;
+import game.LevelGenerator;
+import util.SpatialHash;
+
+/**
+ * Compares the per-frame cost of testing the bunny against every
+ * collidable with testing it against the candidates of the spatial hash,
+ * for generated levels of 100 to 100,000 collidables. The bunny runs
+ * through the level and bounces up and down; both ways must find the same
+ * overlaps in the same order every frame.
+ */
+public class CollisionBenchmark {
+	private static final int FRAMES = 20000;
+	private static final int RUNS = 5;
+
+	public static void main (String[] args) {
+		int[] counts = { 100, 1000, 10000, 100000 };
+		for (int count : counts) {
+			Array<Rectangle> collidables = createCollidables(count);
+			SpatialHash<Rectangle> grid = new SpatialHash<Rectangle>(2);
+			for (Rectangle r : collidables)
+				grid.insert(r, r.x, r.y, r.width, r.height);
+
+			Rectangle bunny = new Rectangle(0, 0, 1, 1);
+			Array<Rectangle> candidates = new Array<Rectangle>();
+			Array<Rectangle> linearHits = new Array<Rectangle>();
+			Array<Rectangle> gridHits = new Array<Rectangle>();
+			float levelWidth = collidables.peek().x + 1;
+			// both ways must find the same collisions
+			int hits = 0;
+			for (int frame = 0; frame < FRAMES; frame++) {
+				moveBunny(bunny, frame, levelWidth);
+				linearHits.clear();
+				for (int i = 0; i < collidables.size; i++)
+					if (bunny.overlaps(collidables.get(i))) linearHits.add(collidables.get(i));
+				gridHits.clear();
+				for (Rectangle r : grid.query(bunny.x, bunny.y, bunny.width, bunny.height, candidates))
+					if (bunny.overlaps(r)) gridHits.add(r);
+				if (!linearHits.equals(gridHits)) throw new IllegalStateException("broadphase differs in frame " + frame);
+				hits += gridHits.size;
+			}
+			// time both ways separately, so they do not evict each other from the caches
+			long linearTime = Long.MAX_VALUE;
+			long gridTime = Long.MAX_VALUE;
+			for (int run = 0; run < RUNS; run++) {
+				long start = System.nanoTime();
+				int found = 0;
+				for (int frame = 0; frame < FRAMES; frame++) {
+					moveBunny(bunny, frame, levelWidth);
+					for (int i = 0; i < collidables.size; i++)
+						if (bunny.overlaps(collidables.get(i))) found++;
+				}
+				linearTime = Math.min(linearTime, System.nanoTime() - start);
+
+				start = System.nanoTime();
+				for (int frame = 0; frame < FRAMES; frame++) {
+					moveBunny(bunny, frame, levelWidth);
+					grid.query(bunny.x, bunny.y, bunny.width, bunny.height, candidates);
+					for (int i = 0; i < candidates.size; i++)
+						if (bunny.overlaps(candidates.get(i))) found--;
+				}
+				gridTime = Math.min(gridTime, System.nanoTime() - start);
+				if (found != 0) throw new IllegalStateException("broadphase differs");
+			}
+			System.out.println(String.format("%7d collidables, %6d hits: linear %9.1f ns/frame, spatial hash %6.1f ns/frame (%.1fx)",
+				collidables.size, hits, (double)linearTime / FRAMES, (double)gridTime / FRAMES, (double)linearTime / gridTime));
+		}
+	}
+
+	/** @return the bounds of the rocks, coins and feathers of a generated level, in world units as in {@link game.Level} */
+	private static Array<Rectangle> createCollidables (int count) {
+		LevelGenerator.Settings settings = new LevelGenerator.Settings();
+		// about 0.64 collidables per column with the default densities
+		settings.width = Math.max(16, count * 100 / 64 + 1);
+		LevelData data = LevelGenerator.generate(settings);
+		Array<Rectangle> collidables = new Array<Rectangle>(count);
+		for (int i = 0; i < data.rocks.size && collidables.size < count; i += 3) {
+			float baseHeight = data.height - data.rocks.get(i + 1);
+			collidables.add(new Rectangle(data.rocks.get(i), baseHeight * 1.5f * 0.25f - 2.5f, data.rocks.get(i + 2), 1.5f));
+		}
+		for (int i = 0; i < data.goldcoins.size && collidables.size < count; i += 2) {
+			float baseHeight = data.height - data.goldcoins.get(i + 1);
+			collidables.add(new Rectangle(data.goldcoins.get(i), baseHeight * 0.5f - 1.5f, 0.5f, 0.5f));
+		}
+		for (int i = 0; i < data.feathers.size && collidables.size < count; i += 2) {
+			float baseHeight = data.height - data.feathers.get(i + 1);
+			collidables.add(new Rectangle(data.feathers.get(i), baseHeight * 0.5f - 1.5f, 0.5f, 0.5f));
+		}
+		// keep the rightmost collidable last, it gives the level width
+		collidables.sort(new Comparator<Rectangle>() {
+			@Override
+			public int compare (Rectangle a, Rectangle b) {
+				return Float.compare(a.x, b.x);
+			}
+		});
+		return collidables;
+	}
+
+	private static void moveBunny (Rectangle bunny, int frame, float levelWidth) {
+		// about the running speed of the bunny at 60 frames per second
+		bunny.x = frame * 0.05f % levelWidth;
+		bunny.y = 2 + 3 * MathUtils.sin(frame * 0.05f);
+	}
+}
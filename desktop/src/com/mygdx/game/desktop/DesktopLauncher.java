@@ -2,29 +2,55 @@ package com.mygdx.game.desktop;
 
 import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.tools.texturepacker.TexturePacker;
 import com.badlogic.gdx.tools.texturepacker.TexturePacker.Settings;
 
 import game.CanyonBunnyMain;
+import game.InputRecording;
+import game.Level;
+import physics.PhysicsBackend;
+import util.JobSystem;
+import util.WorkStealingWorkers;
 
 public class DesktopLauncher {
 	private static boolean rebuildAtlas = true;
 	private static boolean drawDebugOutline = false;
+	private static boolean rebuildLevels = true;
+	private static boolean watchAssets = true;
 	
+	/**
+	 * @param args "--record file" records every game into the file,
+	 *        "--replay file" replays the recorded game, "--physics
+	 *        arcade|box2d" picks the physics backend
+	 */
 	public static void main (String[] args) {
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			if (args[i].equals("--record")) InputRecording.recordFile = new FileHandle(args[i + 1]);
+			else if (args[i].equals("--replay")) InputRecording.replayFile = new FileHandle(args[i + 1]);
+			else if (args[i].equals("--physics")) Level.physicsType = PhysicsBackend.Type.valueOf(args[i + 1].toUpperCase());
+		}
+		Settings settings = new Settings();
+		settings.maxWidth = 1024;
+		settings.maxHeight = 1024;
+		settings.debug = drawDebugOutline;
 		if (rebuildAtlas) {
-			Settings settings = new Settings();
-			settings.maxWidth = 1024;
-			settings.maxHeight = 1024;
-			settings.debug = drawDebugOutline;
 			TexturePacker.process(settings, "assets-raw/images", "../android/assets/images", "canyonbunny");
 			TexturePacker.process(settings, "assets-raw/images-ui", "../android/assets/images", "canyonbunny-ui");
 		}
+		if (rebuildLevels) {
+			LevelCompiler.process("../android/assets/levels", "../android/assets/levels");
+			LevelPacker.process("../android/assets/levels", "../android/assets/levels/levels.pack");
+		}
 		
 		LwjglApplicationConfiguration config = new LwjglApplicationConfiguration();
 		config.title = "CanyonBunny";
 		config.width = 800;
 		config.height = 480;
-		new LwjglApplication(new CanyonBunnyMain(), config);
+		JobSystem.instance.setWorkers(new WorkStealingWorkers());
+		CanyonBunnyMain game = new CanyonBunnyMain();
+		new LwjglApplication(game, config);
+		// reload changed levels, atlases and particle effects while the game runs
+		if (watchAssets) AssetWatcher.start(game, "../android/assets", "assets-raw", settings);
 	}
 }
@@ -0,0 +1,108 @@
+package com.mygdx.game.desktop;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.PooledEngine;
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+import components.BoundsComponent;
+import game.Level;
+import objects.BunnyHead;
+import objects.BunnyHead.JUMP_STATE;
+import objects.Rock;
+import physics.PhysicsBackend;
+import util.JobSystem;
+
+/**
+ * Checks that the bunny cannot fall through a thin rock. The bunny is
+ * dropped onto a rock one unit wide and one unit high at increasing speeds
+ * and time steps, with each physics backend, until it moves many times the
+ * rock's height in one step. Every drop must end on top of the rock and
+ * grounded; the failed drops are listed and the check fails. Run it in the
+ * assets folder, like the game.
+ */
+public class FallThroughCheck {
+	private static final float[] SPEEDS = { 1, 2, 4, 8, 16, 32, 64, 128, 256, 512 };
+	private static final float[] TIME_STEPS = { 1 / 144f, 1 / 60f, 1 / 30f, 1 / 4f };
+	private static final float ROCK_HEIGHT = 1;
+	// the drop starts this far above the rock
+	private static final float DROP_HEIGHT = 3;
+	private static final float TOLERANCE = 0.001f;
+
+	public static void main (String[] args) {
+		new HeadlessApplication(new ApplicationAdapter() {
+			private boolean failed;
+
+			@Override
+			public void create () {
+				failed = !run();
+				Gdx.app.exit();
+			}
+
+			@Override
+			public void dispose () {
+				JobSystem.instance.dispose();
+				if (failed) System.exit(1);
+			}
+		}, new HeadlessApplicationConfiguration());
+	}
+
+	/** @return whether every drop ended on the rock */
+	private static boolean run () {
+		Gdx.app.setLogLevel(Application.LOG_ERROR);
+
+		int drops = 0, failures = 0;
+		for (PhysicsBackend.Type type : PhysicsBackend.Type.values()) {
+			for (float deltaTime : TIME_STEPS) {
+				for (float speed : SPEEDS) {
+					drops++;
+					String failure = drop(type, speed, deltaTime);
+					if (failure == null) continue;
+					failures++;
+					System.out.println(String.format("%-6s %5.0f units/s, step %.4f s: %s", type.name().toLowerCase(), speed, deltaTime,
+						failure));
+				}
+			}
+		}
+		if (failures > 0) {
+			System.out.println(failures + " of " + drops + " drops did not end on the rock");
+			return false;
+		}
+		System.out.println("all " + drops + " drops ended on the rock");
+		return true;
+	}
+
+	/** @return why the drop failed, null if the bunny ended on the rock */
+	private static String drop (PhysicsBackend.Type type, float speed, float deltaTime) {
+		PhysicsBackend physics = Level.createPhysics(type);
+		PhysicsBackend.Listener listener = new PhysicsBackend.Listener() {
+			@Override
+			public void itemTouched (Entity item) {
+			}
+		};
+		Entity rock = Rock.create(new PooledEngine(), 0, 0, 1, 0);
+		// thinner than the rocks of the levels
+		rock.getComponent(BoundsComponent.class).bounds.height = ROCK_HEIGHT;
+		physics.addRock(rock);
+		BunnyHead bunnyHead = new BunnyHead();
+		bunnyHead.setPosition(0, ROCK_HEIGHT + DROP_HEIGHT);
+		bunnyHead.jumpState = JUMP_STATE.FALLING;
+		bunnyHead.velocity.y = -speed;
+		// long enough to fall to the rock and well past it
+		int steps = 2 + (int)Math.ceil(2 * (DROP_HEIGHT + ROCK_HEIGHT) / (speed * deltaTime));
+		for (int i = 0; i < steps; i++) {
+			// the fall keeps its speed until the rock stops it, no gravity or terminal velocity
+			bunnyHead.lastPosition.set(bunnyHead.position);
+			bunnyHead.position.mulAdd(bunnyHead.velocity, deltaTime);
+			physics.step(bunnyHead, deltaTime, listener);
+		}
+		physics.dispose();
+		float y = bunnyHead.position.y;
+		if (Math.abs(y - ROCK_HEIGHT) > TOLERANCE) return "ended at y " + y + " instead of " + ROCK_HEIGHT;
+		if (bunnyHead.jumpState != JUMP_STATE.GROUNDED) return "ended " + bunnyHead.jumpState + " instead of GROUNDED";
+		return null;
+	}
+}
@@ -0,0 +1,48 @@
+package com.mygdx.game.desktop;
+
+import java.io.File;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+import game.LevelData;
+import game.LevelDecoder;
+import game.LevelFormat;
+import game.LevelPalette;
+import util.Constants;
+
+/**
+ * Compiles every level image in a directory into the binary level format
+ * that {@link game.Level} reads without scanning pixels.
+ */
+public class LevelCompiler {
+
+	public static void process (String inputDir, String outputDir) {
+		GdxNativesLoader.load();
+		File[] files = new File(inputDir).listFiles();
+		if (files == null) return;
+		File paletteFile = new File(inputDir, new File(Constants.LEVEL_PALETTE).getName());
+		LevelPalette palette = paletteFile.exists() ? LevelPalette.load(new FileHandle(paletteFile)) : LevelPalette.getDefault();
+		for (File file : files) {
+			if (!file.getName().endsWith(".png")) continue;
+			FileHandle output = new FileHandle(new File(outputDir, LevelFormat.getCompiledFileName(file.getName())));
+			compile(new FileHandle(file), output, palette);
+			System.out.println("Compiled level " + file.getName() + " -> " + output.name());
+		}
+	}
+
+	public static LevelData compile (FileHandle input, FileHandle output, LevelPalette palette) {
+		Pixmap pixmap = new Pixmap(input);
+		LevelData data = LevelDecoder.decode(pixmap, palette);
+		pixmap.dispose();
+		output.writeBytes(LevelFormat.toBytes(data), false);
+		return data;
+	}
+
+	public static void main (String[] args) {
+		String inputDir = args.length > 0 ? args[0] : "../android/assets/levels";
+		String outputDir = args.length > 1 ? args[1] : inputDir;
+		process(inputDir, outputDir);
+	}
+}
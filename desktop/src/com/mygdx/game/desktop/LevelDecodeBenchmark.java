@@ -0,0 +1,56 @@
+package com.mygdx.game.desktop;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+import game.LevelData;
+import game.LevelDecoder;
+import game.LevelFormat;
+import game.LevelGenerator;
+import game.LevelPalette;
+
+/**
+ * Compares the per-pixel level scan with the bulk decoder on one and on
+ * all cores, using a 4096x256 image. Every result is checked against the
+ * per-pixel scan.
+ */
+public class LevelDecodeBenchmark {
+	private static final int WIDTH = 4096;
+	private static final int HEIGHT = 256;
+	private static final int RUNS = 10;
+
+	public static void main (String[] args) {
+		GdxNativesLoader.load();
+		LevelGenerator.Settings settings = new LevelGenerator.Settings();
+		settings.width = WIDTH;
+		settings.height = HEIGHT;
+		settings.verticalSpread = HEIGHT / 2;
+		Pixmap pixmap = LevelGenerator.toPixmap(LevelGenerator.generate(settings));
+		byte[] expected = LevelFormat.toBytes(LevelData.parse(pixmap));
+
+		int cores = Runtime.getRuntime().availableProcessors();
+		long perPixel = Long.MAX_VALUE;
+		for (int i = 0; i < RUNS; i++) {
+			long start = System.nanoTime();
+			LevelData.parse(pixmap);
+			perPixel = Math.min(perPixel, System.nanoTime() - start);
+		}
+		System.out.println(String.format("%dx%d per-pixel scan: %8.2f ms", WIDTH, HEIGHT, perPixel / 1e6));
+
+		for (int threads = 1; threads <= cores; threads = threads < cores ? Math.min(threads * 2, cores) : cores + 1) {
+			long best = Long.MAX_VALUE;
+			for (int i = 0; i < RUNS; i++) {
+				long start = System.nanoTime();
+				LevelData data = LevelDecoder.decode(pixmap, LevelPalette.getDefault(), threads);
+				best = Math.min(best, System.nanoTime() - start);
+				if (!Arrays.equals(expected, LevelFormat.toBytes(data)))
+					throw new IllegalStateException("decoder result differs with " + threads + " threads");
+			}
+			System.out.println(String.format("%dx%d bulk decode, %2d threads: %8.2f ms (%.1fx)", WIDTH, HEIGHT, threads, best / 1e6,
+				(double)perPixel / best));
+		}
+		pixmap.dispose();
+	}
+}
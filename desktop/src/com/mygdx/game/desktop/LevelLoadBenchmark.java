@@ -0,0 +1,64 @@
+package com.mygdx.game.desktop;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+import game.LevelData;
+import game.LevelFormat;
+import game.LevelGenerator;
+import game.LevelPalette;
+
+/**
+ * Compares loading a level from its PNG image (decode + pixel scan) with
+ * reading the compiled binary format, for levels of 10k columns and more.
+ */
+public class LevelLoadBenchmark {
+	private static final int HEIGHT = 32;
+	private static final int RUNS = 5;
+
+	public static void main (String[] args) throws IOException {
+		GdxNativesLoader.load();
+		int[] widths = { 10000, 50000, 100000 };
+		for (int width : widths) {
+			File dir = File.createTempFile("levelbench", "");
+			dir.delete();
+			dir.mkdirs();
+			FileHandle png = new FileHandle(new File(dir, "level.png"));
+			FileHandle lvl = new FileHandle(new File(dir, "level" + LevelFormat.EXTENSION));
+
+			LevelGenerator.Settings settings = new LevelGenerator.Settings();
+			settings.width = width;
+			settings.height = HEIGHT;
+			LevelGenerator.writePNG(settings, png);
+			LevelCompiler.compile(png, lvl, LevelPalette.getDefault());
+
+			long pngTime = Long.MAX_VALUE;
+			long compiledTime = Long.MAX_VALUE;
+			int objects = 0;
+			for (int i = 0; i < RUNS; i++) {
+				long start = System.nanoTime();
+				Pixmap image = new Pixmap(png);
+				LevelData data = LevelData.parse(image);
+				image.dispose();
+				pngTime = Math.min(pngTime, System.nanoTime() - start);
+
+				start = System.nanoTime();
+				LevelData compiled = LevelFormat.read(lvl);
+				compiledTime = Math.min(compiledTime, System.nanoTime() - start);
+				objects = compiled.getRockCount() + compiled.getGoldCoinCount() + compiled.getFeatherCount();
+				if (objects != data.getRockCount() + data.getGoldCoinCount() + data.getFeatherCount())
+					throw new IllegalStateException("compiled level differs from image");
+			}
+			System.out.println(String.format("%7d columns, %7d objects: png %8.2f ms, compiled %8.2f ms (%.1fx)", width, objects,
+				pngTime / 1e6, compiledTime / 1e6, (double)pngTime / compiledTime));
+
+			png.delete();
+			lvl.delete();
+			dir.delete();
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package com.mygdx.game.desktop;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import game.LevelFormat;
+import game.LevelPack;
+import game.LevelPalette;
+import util.Constants;
+
+/**
+ * Packs the compiled levels of a directory, sorted by name, into a single
+ * level pack that {@link game.Level} reads levels and metadata from. Only
+ * level images whose compiled level is missing or older than the image or
+ * the palette are compiled, the other levels are packed as they are.
+ */
+public class LevelPacker {
+
+	public static void process (String inputDir, String packFile) {
+		GdxNativesLoader.load();
+		File[] files = new File(inputDir).listFiles();
+		if (files == null) return;
+		Arrays.sort(files);
+		File paletteFile = new File(inputDir, new File(Constants.LEVEL_PALETTE).getName());
+		// only read when a level is compiled
+		LevelPalette palette = null;
+
+		Array<String> names = new Array<String>();
+		Array<ByteBuffer> payloads = new Array<ByteBuffer>();
+		int compiled = 0;
+		for (File file : files) {
+			if (!file.getName().endsWith(".png")) continue;
+			File output = new File(inputDir, LevelFormat.getCompiledFileName(file.getName()));
+			if (!output.exists() || output.lastModified() < file.lastModified()
+				|| paletteFile.exists() && output.lastModified() < paletteFile.lastModified()) {
+				if (palette == null) palette = paletteFile.exists() ? LevelPalette.load(new FileHandle(paletteFile)) : LevelPalette.getDefault();
+				LevelCompiler.compile(new FileHandle(file), new FileHandle(output), palette);
+				compiled++;
+			}
+			payloads.add(ByteBuffer.wrap(new FileHandle(output).readBytes()));
+			names.add(LevelPack.getName(file.getName()));
+		}
+		write(packFile, LevelPack.write(names, payloads));
+		System.out.println("Packed " + payloads.size + " levels, " + compiled + " compiled -> " + packFile);
+	}
+
+	/**
+	 * Puts the compiled level into the pack in place of the level of the
+	 * same name, or adds it. The other levels are copied as they are.
+	 */
+	public static void replace (String packFile, String name, byte[] payload) {
+		FileHandle file = new FileHandle(packFile);
+		if (!file.exists()) {
+			process(file.file().getParent(), packFile);
+			return;
+		}
+		// read into the heap, a mapped pack could not be replaced on every system
+		byte[] bytes = file.readBytes();
+		Array<String> names = new Array<String>();
+		Array<ByteBuffer> payloads = new Array<ByteBuffer>();
+		boolean added = false;
+		for (LevelPack.Entry entry : new LevelPack(file).getEntries()) {
+			if (!added && entry.name.compareTo(name) >= 0) {
+				names.add(name);
+				payloads.add(ByteBuffer.wrap(payload));
+				added = true;
+				if (entry.name.equals(name)) continue;
+			}
+			names.add(entry.name);
+			payloads.add(ByteBuffer.wrap(bytes, entry.offset, entry.length));
+		}
+		if (!added) {
+			names.add(name);
+			payloads.add(ByteBuffer.wrap(payload));
+		}
+		write(packFile, LevelPack.write(names, payloads));
+		System.out.println("Replaced level " + name + " in " + packFile);
+	}
+
+	/** Replaces the pack in one step, a running game may have the old one mapped. */
+	private static void write (String packFile, byte[] pack) {
+		FileHandle temp = new FileHandle(packFile + ".tmp");
+		temp.writeBytes(pack, false);
+		try {
+			Files.move(temp.file().toPath(), new File(packFile).toPath(), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Couldn't write level pack: " + packFile, e);
+		}
+	}
+
+	public static void main (String[] args) {
+		String inputDir = args.length > 0 ? args[0] : "../android/assets/levels";
+		String packFile = args.length > 1 ? args[1] : inputDir + "/" + new File(Constants.LEVEL_PACK).getName();
+		process(inputDir, packFile);
+	}
+}
@@ -0,0 +1,88 @@
+package com.mygdx.game.desktop;
+
+import java.lang.management.ManagementFactory;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.PooledEngine;
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+import objects.Feather;
+import objects.GoldCoin;
+import objects.Rock;
+import util.JobSystem;
+
+/**
+ * Reports the memory the level objects take, as the bytes allocated to
+ * create the entities of 100,000 rocks, gold coins and feathers each. The
+ * entities and all their components are counted, the array holding them is
+ * not. Run it in the assets folder, like the game.
+ */
+public class ObjectMemoryBenchmark {
+	private static final int COUNT = 100000;
+
+	private interface Factory {
+		Entity create (PooledEngine engine);
+	}
+
+	public static void main (String[] args) {
+		new HeadlessApplication(new ApplicationAdapter() {
+			@Override
+			public void create () {
+				run();
+				Gdx.app.exit();
+			}
+
+			@Override
+			public void dispose () {
+				JobSystem.instance.dispose();
+			}
+		}, new HeadlessApplicationConfiguration());
+	}
+
+	private static void run () {
+		Gdx.app.setLogLevel(Application.LOG_ERROR);
+
+		long total = 0;
+		total += measure("rocks", new Factory() {
+			@Override
+			public Entity create (PooledEngine engine) {
+				return Rock.create(engine, 0, 0, 1, 0);
+			}
+		});
+		total += measure("gold coins", new Factory() {
+			@Override
+			public Entity create (PooledEngine engine) {
+				return GoldCoin.create(engine, 0, 0, 0);
+			}
+		});
+		total += measure("feathers", new Factory() {
+			@Override
+			public Entity create (PooledEngine engine) {
+				return Feather.create(engine, 0, 0);
+			}
+		});
+		System.out.println(String.format("%-10s %10.1f KB per %d of each", "all", total / 1024.0, COUNT));
+	}
+
+	/** @return the bytes allocated to create {@link #COUNT} objects */
+	private static long measure (String name, Factory factory) {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		Entity[] objects = new Entity[COUNT];
+		// the pools of the engine are empty, every entity and component is new
+		PooledEngine engine = new PooledEngine();
+		// loads the classes and their shared data
+		factory.create(engine);
+		long start = threads.getThreadAllocatedBytes(thread);
+		for (int i = 0; i < COUNT; i++)
+			objects[i] = factory.create(engine);
+		long bytes = threads.getThreadAllocatedBytes(thread) - start;
+		System.out.println(String.format("%-10s %10.1f KB per %d, %5.1f bytes each", name, bytes / 1024.0, COUNT,
+			(double)bytes / COUNT));
+		return bytes;
+	}
+}
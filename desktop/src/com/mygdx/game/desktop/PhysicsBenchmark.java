@@ -0,0 +1,130 @@
+package com.mygdx.game.desktop;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.math.RandomXS128;
+
+import game.Level;
+import game.LevelData;
+import game.LevelGenerator;
+import objects.BunnyHead;
+import physics.PhysicsBackend;
+import util.Constants;
+import util.JobSystem;
+import util.RandomStreams;
+
+/**
+ * Compares the physics backends on generated levels of 1,000 to 100,000
+ * columns. A bot runs right through the level and jumps at random with
+ * each backend in turn; the time per step of the physics and of the whole
+ * step, with the level update and the chunk streaming, is reported. The
+ * bunny is dropped back in a bit further on when it falls into the water.
+ * Only the chunks around the bunny are in the physics, so the number of
+ * objects does not grow with the level. Run it in the assets folder, like
+ * the game.
+ */
+public class PhysicsBenchmark {
+	private static final int STEPS = 20000;
+	private static final int RUNS = 3;
+	private static final float RESPAWN_HEIGHT = 5;
+
+	public static void main (String[] args) {
+		new HeadlessApplication(new ApplicationAdapter() {
+			@Override
+			public void create () {
+				run();
+				Gdx.app.exit();
+			}
+
+			@Override
+			public void dispose () {
+				JobSystem.instance.dispose();
+			}
+		}, new HeadlessApplicationConfiguration());
+	}
+
+	private static void run () {
+		Gdx.app.setLogLevel(Application.LOG_ERROR);
+
+		int[] widths = { 1000, 10000, 100000 };
+		for (int width : widths) {
+			LevelGenerator.Settings settings = new LevelGenerator.Settings();
+			settings.width = width;
+			LevelData data = LevelGenerator.generate(settings);
+			for (PhysicsBackend.Type type : PhysicsBackend.Type.values()) {
+				long physicsTime = Long.MAX_VALUE;
+				long stepTime = Long.MAX_VALUE;
+				Result result = null;
+				for (int run = 0; run < RUNS; run++) {
+					result = play(data, type);
+					physicsTime = Math.min(physicsTime, result.physicsTime);
+					stepTime = Math.min(stepTime, result.stepTime);
+				}
+				System.out.println(String.format(
+					"%7d columns, %-6s %4d objects: physics %7.1f ns/step, step %8.1f ns/step, ran %6.0f, %d items, %d falls", width,
+					type.name().toLowerCase(), result.objects, (double)physicsTime / STEPS, (double)stepTime / STEPS, result.distance,
+					result.items, result.falls));
+			}
+		}
+	}
+
+	private static class Result {
+		long physicsTime;
+		long stepTime;
+		// most objects the physics held at once
+		int objects;
+		float distance;
+		int items;
+		int falls;
+	}
+
+	private static Result play (LevelData data, PhysicsBackend.Type type) {
+		final Level level = new Level("generated", data, Level.createPhysics(type), new RandomStreams(1));
+		final Result result = new Result();
+		PhysicsBackend.Listener listener = new PhysicsBackend.Listener() {
+			@Override
+			public void itemTouched (Entity item) {
+				level.collect(item);
+				result.items++;
+			}
+		};
+		BunnyHead bunnyHead = level.bunnyHead;
+		float startX = bunnyHead.position.x;
+		RandomXS128 random = new RandomXS128(1);
+		float deltaTime = Constants.SIMULATION_STEP;
+		float viewportWidth = Constants.VIEWPORT_HEIGHT * Constants.SIMULATION_ASPECT_RATIO;
+		int jumpSteps = 0;
+		long start = System.nanoTime();
+		for (int step = 0; step < STEPS; step++) {
+			// same bot as the turbo driver
+			if (jumpSteps > 0) {
+				jumpSteps--;
+			} else if (random.nextInt(40) == 0) {
+				jumpSteps = 5 + random.nextInt(30);
+			}
+			bunnyHead.velocity.x = bunnyHead.type.terminalVelocity.x;
+			bunnyHead.setJumping(jumpSteps > 0);
+			level.setSimulationWindow(bunnyHead.position.x - viewportWidth / 2, bunnyHead.position.y - Constants.VIEWPORT_HEIGHT / 2,
+				viewportWidth, Constants.VIEWPORT_HEIGHT);
+			level.update(deltaTime);
+			long physicsStart = System.nanoTime();
+			level.physics.step(bunnyHead, deltaTime, listener);
+			result.physicsTime += System.nanoTime() - physicsStart;
+			if (bunnyHead.position.y < -5) {
+				bunnyHead.setPosition(bunnyHead.position.x + 1, RESPAWN_HEIGHT);
+				bunnyHead.velocity.y = 0;
+				result.falls++;
+			}
+			level.updateActiveChunks(bunnyHead.position.x);
+			result.objects = Math.max(result.objects, level.physics.getObjectCount());
+		}
+		result.stepTime = System.nanoTime() - start;
+		result.distance = bunnyHead.position.x - startX;
+		level.dispose();
+		return result;
+	}
+}
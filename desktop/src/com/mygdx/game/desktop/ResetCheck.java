@@ -0,0 +1,122 @@
+package com.mygdx.game.desktop;
+
+import java.lang.management.ManagementFactory;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+import game.InputRecording;
+import game.InputState;
+import game.WorldController;
+import util.Constants;
+import util.JobSystem;
+
+/**
+ * Checks that resetting the game reuses the loaded level. A bot plays the
+ * first level for a while and resets the game, twice; the first reset
+ * warms up the pools, the step of the second one must not change the bytes
+ * allocated by the thread. After each reset the state of the game must be
+ * the one of a game that was just created, with the level loaded anew. Run
+ * it in the assets folder, like the game, with -Xint: compiled code leaves
+ * out allocations that Android makes and adds some of its own.
+ */
+public class ResetCheck {
+	// long enough to collect items and lose a life, short enough to not lose the game
+	private static final int FRAMES = 900;
+	private static final int RESETS = 2;
+
+	/** @param args "--seed n" sets the random numbers of the bot and the level */
+	public static void main (String[] args) {
+		long seed = 1;
+		for (int i = 0; i + 1 < args.length; i += 2)
+			if (args[i].equals("--seed")) seed = Long.parseLong(args[i + 1]);
+		if (!System.getProperty("java.vm.info", "").contains("interpreted")) {
+			System.out.println("run with -Xint, compiled code does not allocate like the game on a device");
+			System.exit(1);
+		}
+		final long botSeed = seed;
+		new HeadlessApplication(new ApplicationAdapter() {
+			private boolean failed;
+
+			@Override
+			public void create () {
+				failed = !run(botSeed);
+				Gdx.app.exit();
+			}
+
+			@Override
+			public void dispose () {
+				JobSystem.instance.dispose();
+				if (failed) System.exit(1);
+			}
+		}, new HeadlessApplicationConfiguration());
+	}
+
+	/** @return whether the last reset allocated nothing and every reset gave the state of a new game */
+	private static boolean run (long seed) {
+		Gdx.app.setLogLevel(Application.LOG_ERROR);
+
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		// what measuring costs by itself
+		long overhead = -threads.getThreadAllocatedBytes(thread);
+		overhead += threads.getThreadAllocatedBytes(thread);
+
+		// the state of a new game after the reset step
+		WorldController created = new WorldController(new SilentListener(), createInput(seed, 0));
+		created.update(Constants.SIMULATION_STEP);
+		long createdHash = created.getStateHash();
+		created.dispose();
+
+		SilentListener listener = new SilentListener();
+		WorldController worldController = new WorldController(listener, createInput(seed, FRAMES));
+		boolean passed = true;
+		long allocated = 0;
+		for (int reset = 0; reset < RESETS; reset++) {
+			for (int frame = 0; frame < FRAMES && !listener.menuReached; frame++)
+				worldController.update(Constants.SIMULATION_STEP);
+			if (listener.menuReached) {
+				System.out.println("the game ended before reset " + (reset + 1));
+				passed = false;
+				break;
+			}
+			int scoreBefore = worldController.score;
+			long start = threads.getThreadAllocatedBytes(thread);
+			worldController.update(Constants.SIMULATION_STEP);
+			allocated = threads.getThreadAllocatedBytes(thread) - start - overhead;
+			long hash = worldController.getStateHash();
+			if (hash != createdHash) {
+				System.out.println(String.format("reset %d with a score of %d ended in state %016x instead of %016x of a new game",
+					reset + 1, scoreBefore, hash, createdHash));
+				passed = false;
+			}
+		}
+		worldController.dispose();
+
+		if (allocated != 0) {
+			System.out.println("the reset after the warm up allocated " + allocated + " bytes");
+			passed = false;
+		}
+		if (passed) System.out.println(RESETS + " resets gave the state of a new game, the one after the warm up allocated nothing");
+		return passed;
+	}
+
+	/** @return the input of the bot for the frames, then a reset, and the same again for every reset */
+	private static InputRecording createInput (long seed, int frames) {
+		InputRecording bot = TurboDriver.createBotInput(seed, 0, frames);
+		InputRecording input = new InputRecording(seed, 0);
+		InputState state = new InputState();
+		for (int reset = 0; reset < RESETS; reset++) {
+			bot.rewind();
+			while (bot.next(state))
+				input.add(state);
+			state.clear();
+			state.buttons = InputState.RESET;
+			input.add(state);
+		}
+		return input;
+	}
+}
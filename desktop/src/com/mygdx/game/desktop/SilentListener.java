@@ -0,0 +1,38 @@
+package com.mygdx.game.desktop;
+
+import components.CollectibleComponent;
+import game.WorldController;
+
+/**
+ * Lets the tools run the world without screens, sound or input devices,
+ * the game is only told when it goes back to the menu.
+ */
+class SilentListener implements WorldController.Listener {
+	boolean menuReached;
+
+	@Override
+	public void backToMenu () {
+		menuReached = true;
+	}
+
+	@Override
+	public void goalReached () {
+	}
+
+	@Override
+	public void lifeLost () {
+	}
+
+	@Override
+	public void jumped (boolean withFeather) {
+	}
+
+	@Override
+	public void collected (CollectibleComponent.Kind kind, int count) {
+	}
+
+	@Override
+	public boolean isAccelerometerAvailable () {
+		return false;
+	}
+}
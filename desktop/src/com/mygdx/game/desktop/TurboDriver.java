@@ -0,0 +1,136 @@
+package com.mygdx.game.desktop;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import game.InputRecording;
+import game.InputState;
+import game.Level;
+import game.WorldController;
+import physics.PhysicsBackend;
+import util.Constants;
+import util.JobSystem;
+import util.WorkStealingWorkers;
+
+/**
+ * Runs the game world without a window, a GL context or sound, as fast as
+ * the simulation goes, for automated playtests, level checks and soak
+ * tests. The world is played from a recorded game, or else by a bot that
+ * runs right and jumps at random; the run stops when the game goes back to
+ * the menu. Run it in the assets folder, like the game.
+ */
+public class TurboDriver {
+	private static class Options {
+		FileHandle replayFile;
+		int levelIndex;
+		long seed = 1;
+		int steps = 60 * 60 * 10;
+		float deltaTime = Constants.SIMULATION_STEP;
+	}
+
+	/**
+	 * @param args "--replay file" plays the recorded game and checks that it
+	 *        ends in the recorded state, otherwise a bot plays "--steps n"
+	 *        steps of "--level n" with the random numbers of "--seed n";
+	 *        "--dt seconds" sets the time step and "--physics arcade|box2d"
+	 *        the physics backend
+	 */
+	public static void main (String[] args) {
+		final Options options = new Options();
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			if (args[i].equals("--replay")) options.replayFile = new FileHandle(args[i + 1]);
+			else if (args[i].equals("--level")) options.levelIndex = Integer.parseInt(args[i + 1]) - 1;
+			else if (args[i].equals("--seed")) options.seed = Long.parseLong(args[i + 1]);
+			else if (args[i].equals("--steps")) options.steps = Integer.parseInt(args[i + 1]);
+			else if (args[i].equals("--dt")) options.deltaTime = Float.parseFloat(args[i + 1]);
+			else if (args[i].equals("--physics")) Level.physicsType = PhysicsBackend.Type.valueOf(args[i + 1].toUpperCase());
+		}
+		if (options.levelIndex < 0 || options.levelIndex >= Constants.LEVELS.length)
+			throw new GdxRuntimeException("Level " + (options.levelIndex + 1) + " does not exist, there are " + Constants.LEVELS.length);
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		// jobs run on threads like in the game
+		JobSystem.instance.setWorkers(new WorkStealingWorkers());
+		new HeadlessApplication(new ApplicationAdapter() {
+			private boolean failed;
+
+			@Override
+			public void create () {
+				try {
+					failed = !run(options);
+				} catch (RuntimeException e) {
+					Gdx.app.error(TurboDriver.class.getName(), "Simulation failed", e);
+					failed = true;
+				}
+				Gdx.app.exit();
+			}
+
+			@Override
+			public void dispose () {
+				JobSystem.instance.dispose();
+				if (failed) System.exit(1);
+			}
+		}, config);
+	}
+
+	/** @return false if a replay does not end in the recorded state */
+	private static boolean run (Options options) {
+		Gdx.app.setLogLevel(Application.LOG_ERROR);
+		InputRecording replay;
+		int steps;
+		if (options.replayFile != null) {
+			replay = InputRecording.read(options.replayFile);
+			// one more step to find the end of the replay
+			steps = replay.getSteps() + 1;
+		} else {
+			replay = createBotInput(options.seed, options.levelIndex, options.steps);
+			steps = replay.getSteps();
+		}
+		SilentListener listener = new SilentListener();
+		WorldController worldController = new WorldController(listener, replay);
+
+		long start = System.nanoTime();
+		int step = 0;
+		while (step < steps && !listener.menuReached && !worldController.isReplayFinished()) {
+			worldController.update(options.deltaTime);
+			step++;
+		}
+		double wallSeconds = (System.nanoTime() - start) / 1e9;
+		double simulatedSeconds = step * (double)options.deltaTime;
+		long stateHash = worldController.getStateHash();
+		System.out.println(String.format("%d steps, %.1f s simulated in %.2f s: %.0f simulated seconds per second", step,
+			simulatedSeconds, wallSeconds, simulatedSeconds / wallSeconds));
+		System.out.println(String.format("level %d, lives %d, score %d%s, state %016x", worldController.levelIndex + 1,
+			worldController.lives, worldController.score, listener.menuReached ? ", back to menu" : "", stateHash));
+		worldController.dispose();
+		if (options.replayFile != null && stateHash != replay.stateHash) {
+			System.out.println(String.format("replay ended in state %016x instead of %016x", stateHash, replay.stateHash));
+			return false;
+		}
+		return true;
+	}
+
+	/** @return the input of a bot that runs right and jumps now and then */
+	static InputRecording createBotInput (long seed, int levelIndex, int steps) {
+		InputRecording recording = new InputRecording(seed, levelIndex);
+		RandomXS128 random = new RandomXS128(seed);
+		InputState input = new InputState();
+		int jumpSteps = 0;
+		for (int i = 0; i < steps; i++) {
+			if (jumpSteps > 0) {
+				jumpSteps--;
+			} else if (random.nextInt(40) == 0) {
+				// hold the jump for a short or a long jump
+				jumpSteps = 5 + random.nextInt(30);
+			}
+			input.buttons = InputState.RIGHT | (jumpSteps > 0 ? InputState.JUMP : 0);
+			recording.add(input);
+		}
+		return recording;
+	}
+}